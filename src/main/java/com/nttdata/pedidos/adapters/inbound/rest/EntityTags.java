@@ -0,0 +1,51 @@
+package com.nttdata.pedidos.adapters.inbound.rest;
+
+/**
+ * ETags fuertes derivados del ID y la versión ({@code @Version}) de un recurso.
+ * Cualquier escritura del recurso incrementa la versión y, con ella, el ETag.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @return el ETag, o null si el recurso no tiene versión (filas escritas fuera de JPA)
+     */
+    public static String of(Long id, Long version) {
+        if (version == null) {
+            return null;
+        }
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Comprueba una cabecera If-None-Match contra el ETag actual con la comparación débil
+     * que exige RFC 9110 para esta cabecera: se ignora el prefijo {@code W/}.
+     * 
+     * @param ifNoneMatch valor de la cabecera, puede ser null
+     * @param etag ETag actual del recurso
+     * @return true si el cliente ya tiene la representación actual
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
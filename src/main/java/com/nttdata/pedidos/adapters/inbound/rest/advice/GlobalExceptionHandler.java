@@ -1,16 +1,23 @@
 package com.nttdata.pedidos.adapters.inbound.rest.advice;
 
+import com.nttdata.pedidos.domain.exception.IdempotencyKeyReusedException;
+import com.nttdata.pedidos.domain.exception.OrderCommitTimeoutException;
 import com.nttdata.pedidos.domain.exception.OrderNotFoundException;
 import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException;
+import com.nttdata.pedidos.domain.exception.ReservationExpiredException;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
@@ -48,6 +55,61 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ReservationExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleReservationExpired(ReservationExpiredException ex) {
+        log.warn("Reservation expired: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "RESERVATION_EXPIRED",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "IDEMPOTENCY_KEY_REUSED",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
+    }
+
+    @ExceptionHandler(OrderCommitTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleOrderCommitTimeout(OrderCommitTimeoutException ex) {
+        log.warn("Order commit timed out: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "ORDER_OUTCOME_UNKNOWN",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
+    @ExceptionHandler(InvalidOrderStatusTransitionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidStatusTransition(InvalidOrderStatusTransitionException ex) {
+        log.warn("Invalid status transition: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "INVALID_STATUS_TRANSITION",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "CONCURRENT_MODIFICATION",
+            "The resource was modified concurrently, please retry",
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
         log.warn("Validation errors: {}", ex.getMessage());
@@ -77,6 +139,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler({IllegalArgumentException.class, MethodArgumentTypeMismatchException.class,
+                       MissingServletRequestParameterException.class})
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(Exception ex) {
+        log.warn("Invalid request: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "INVALID_REQUEST",
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex) {
         log.warn("Access denied: {}", ex.getMessage());
@@ -1,12 +1,33 @@
 package com.nttdata.pedidos.adapters.inbound.rest.order;
 
+import com.nttdata.pedidos.application.order.port.in.AcceptOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.CancelOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
 import com.nttdata.pedidos.application.order.port.in.CreateOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.GetOrderSummariesUseCase;
 import com.nttdata.pedidos.application.order.port.in.GetOrderUseCase;
-import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.IdempotentCreateOrderUseCase;
 import com.nttdata.pedidos.application.order.port.in.OrderItemCommand;
+import com.nttdata.pedidos.application.order.port.in.OrderPageCursor;
+import com.nttdata.pedidos.application.order.port.in.OrderReservationUseCase;
+import com.nttdata.pedidos.application.order.port.in.SearchOrdersUseCase;
+import com.nttdata.pedidos.application.order.port.in.TransitionOrdersUseCase;
+import com.nttdata.pedidos.adapters.inbound.rest.EntityTags;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.BatchCreateOrderRequest;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.BatchOrderResponse;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.BulkCancelOrdersRequest;
 import com.nttdata.pedidos.adapters.inbound.rest.order.dto.CreateOrderRequest;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderAcceptedResponse;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderPageResponse;
 import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderResponse;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderStatusResponse;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderStatusTransitionRequest;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderStatusTransitionResponse;
+import com.nttdata.pedidos.adapters.inbound.rest.order.dto.OrderSummaryPageResponse;
+import com.nttdata.pedidos.domain.order.OrderSearchCriteria;
+import com.nttdata.pedidos.domain.order.OrderStatus;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -14,13 +35,26 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -32,6 +66,7 @@ import java.util.List;
  * @since 2025-11-14
  */
 @Slf4j
+@Validated
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
@@ -39,66 +74,384 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class OrderController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CreateOrderUseCase createOrderUseCase;
+    private final AcceptOrderUseCase acceptOrderUseCase;
+    private final IdempotentCreateOrderUseCase idempotentCreateOrderUseCase;
+    private final OrderReservationUseCase orderReservationUseCase;
+    private final TransitionOrdersUseCase transitionOrdersUseCase;
+    private final CancelOrderUseCase cancelOrderUseCase;
     private final GetOrderUseCase getOrderUseCase;
+    private final GetOrderSummariesUseCase getOrderSummariesUseCase;
+    private final SearchOrdersUseCase searchOrdersUseCase;
+    private final ObjectMapper objectMapper;
 
     /**
      * Crea un nuevo pedido para el usuario autenticado.
+     * Con la cabecera {@code Idempotency-Key}, los reintentos devuelven el pedido original.
      */
     @PostMapping
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Create a new order", description = "Create a new order for the authenticated user")
+    @Operation(summary = "Create a new order", description = "Create a new order for the authenticated user. "
+            + "An error response other than 504 means the order was not created, so the request can be retried. "
+            + "A 504 means the order may have been created: check the user's orders before retrying")
     @ApiResponses({
         @ApiResponse(responseCode = "201", description = "Order created successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient stock"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
-        @ApiResponse(responseCode = "404", description = "Product not found")
+        @ApiResponse(responseCode = "404", description = "Product not found"),
+        @ApiResponse(responseCode = "422", description = "Idempotency key already used with a different request"),
+        @ApiResponse(responseCode = "504", description = "Order commit timed out, the order may have been created")
     })
     public ResponseEntity<OrderResponse> createOrder(
             @RequestBody @Valid CreateOrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         
         Long userId = getUserIdFromAuthentication(authentication);
         log.info("Received request to create order for user ID: {}", userId);
 
-        CreateOrderCommand command = new CreateOrderCommand(
-            userId,
-            request.getItems().stream()
-                .map(item -> new OrderItemCommand(item.getProductId(), item.getQuantity()))
-                .toList()
-        );
+        if (idempotencyKey != null) {
+            var result = idempotentCreateOrderUseCase.createOrder(idempotencyKey, toCommand(userId, request));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                    .body(OrderResponse.fromDomain(result.order()));
+        }
 
-        var order = createOrderUseCase.createOrder(command);
+        var order = createOrderUseCase.createOrder(toCommand(userId, request));
         var response = OrderResponse.fromDomain(order);
         
         log.info("Order created successfully with ID: {}", order.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Crea varios pedidos en una sola petición (integraciones masivas).
+     * Cada pedido se acepta o rechaza por separado.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Create orders in bulk", description = "Create many orders at once with a per-order result")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-order results"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @RequestBody @Valid BatchCreateOrderRequest request,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        log.info("Received batch of {} orders for user ID: {}", request.getOrders().size(), userId);
+
+        var commands = request.getOrders().stream()
+                .map(order -> toCommand(userId, order))
+                .toList();
+        var response = BatchOrderResponse.fromResults(createOrderUseCase.createOrders(commands));
+
+        log.info("Batch processed: {} created, {} failed", response.getCreated(), response.getFailed());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Acepta un pedido y lo completa en segundo plano.
+     * Responde 202 con la URL donde consultar si el pedido quedó confirmado o rechazado.
+     */
+    @PostMapping("/async")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Accept an order asynchronously",
+               description = "Validate and accept an order; stock is reserved in the background")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Order accepted for processing"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient stock"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "404", description = "Product not found")
+    })
+    public ResponseEntity<OrderAcceptedResponse> acceptOrder(
+            @RequestBody @Valid CreateOrderRequest request,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        log.info("Received request to accept order for user ID: {}", userId);
+
+        var order = acceptOrderUseCase.acceptOrder(toCommand(userId, request));
+        String statusUrl = "/api/orders/" + order.getId() + "/status";
+
+        log.info("Order accepted with ID: {}", order.getId());
+        return ResponseEntity.accepted()
+                .location(URI.create(statusUrl))
+                .body(new OrderAcceptedResponse(order.getId(), order.getStatus().name(), statusUrl));
+    }
+
+    /**
+     * Obtiene el estado actual de un pedido del usuario autenticado.
+     */
+    @GetMapping("/{id}/status")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get order status", description = "Poll the processing status of an order. "
+            + "Send the last ETag in If-None-Match to get a 304 while the order is unchanged")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Order status found"),
+        @ApiResponse(responseCode = "304", description = "Order not modified since the given ETag"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<OrderStatusResponse> getOrderStatus(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        String unchangedETag = unchangedETag(id, userId, ifNoneMatch);
+        if (unchangedETag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchangedETag).build();
+        }
+        var order = getOrderUseCase.getOrderById(id, userId);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(order.orderId(), order.version()))
+                .body(OrderStatusResponse.fromDetails(order));
+    }
+
+    /**
+     * Confirma el pago de un pedido pendiente: el stock reservado queda descontado definitivamente.
+     */
+    @PostMapping("/{id}/confirm")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Confirm order", description = "Turn the stock reservation of a pending order into a final deduction")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Order confirmed"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "409", description = "Reservation expired or order not pending"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<OrderStatusResponse> confirmOrder(
+            @PathVariable Long id,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        var order = orderReservationUseCase.confirmOrder(id, userId);
+        return ResponseEntity.ok(OrderStatusResponse.fromDomain(order));
+    }
+
+    /**
+     * Libera el stock reservado por un pedido pendiente y lo cancela.
+     */
+    @PostMapping("/{id}/release")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Release order", description = "Return the reserved stock of a pending order and cancel it")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Order released"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "409", description = "Reservation expired or order not pending"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<OrderStatusResponse> releaseOrder(
+            @PathVariable Long id,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        var order = orderReservationUseCase.releaseOrder(id, userId);
+        return ResponseEntity.ok(OrderStatusResponse.fromDomain(order));
+    }
+
+    /**
+     * Cancela un pedido pendiente o confirmado y devuelve su stock.
+     */
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Cancel order", description = "Cancel a pending or confirmed order and return its items to stock")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Order cancelled"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "409", description = "Order can no longer be cancelled or reservation expired"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<OrderStatusResponse> cancelOrder(
+            @PathVariable Long id,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        var order = cancelOrderUseCase.cancelOrder(id, userId);
+        return ResponseEntity.ok(OrderStatusResponse.fromDomain(order));
+    }
+
+    /**
+     * Cancela un lote de pedidos y devuelve su stock (solo administradores).
+     * Los pedidos que ya no se pueden cancelar se omiten.
+     */
+    @PostMapping("/cancellations")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk cancel orders", description = "Cancel a batch of pending or confirmed orders and return their items to stock. Admin role required.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Cancellation applied"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<OrderStatusTransitionResponse> cancelOrders(
+            @RequestBody @Valid BulkCancelOrdersRequest request) {
+
+        log.info("Bulk cancellation of {} orders", request.getOrderIds().size());
+
+        int requested = new HashSet<>(request.getOrderIds()).size();
+        int cancelled = cancelOrderUseCase.cancelOrders(request.getOrderIds());
+        return ResponseEntity.ok(new OrderStatusTransitionResponse(requested, cancelled, requested - cancelled));
+    }
+
+    /**
+     * Mueve un lote de pedidos de un estado a otro (solo administradores).
+     * Los pedidos que no estén en el estado esperado se omiten.
+     */
+    @PostMapping("/status-transitions")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk status transition", description = "Move a batch of orders to a new status with a single guarded update. Admin role required.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Transition applied"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "409", description = "Transition not allowed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<OrderStatusTransitionResponse> transitionOrders(
+            @RequestBody @Valid OrderStatusTransitionRequest request) {
+
+        log.info("Bulk transition of {} orders from {} to {}",
+                request.getOrderIds().size(), request.getExpectedStatus(), request.getNewStatus());
+
+        int requested = new HashSet<>(request.getOrderIds()).size();
+        int updated = transitionOrdersUseCase.transitionOrders(
+                request.getOrderIds(), request.getExpectedStatus(), request.getNewStatus());
+        return ResponseEntity.ok(new OrderStatusTransitionResponse(requested, updated, requested - updated));
+    }
+
     /**
      * Obtiene un pedido específico por ID para el usuario autenticado.
      */
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Get order by ID", description = "Retrieve a specific order by its ID for the authenticated user")
+    @Operation(summary = "Get order by ID", description = "Retrieve a specific order by its ID for the authenticated user. "
+            + "Send the last ETag in If-None-Match to get a 304 while the order is unchanged")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Order found"),
+        @ApiResponse(responseCode = "304", description = "Order not modified since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Order not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - Order does not belong to user")
     })
     public ResponseEntity<OrderResponse> getOrder(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         
         Long userId = getUserIdFromAuthentication(authentication);
         log.debug("Received request to get order ID: {} for user ID: {}", id, userId);
 
+        String unchangedETag = unchangedETag(id, userId, ifNoneMatch);
+        if (unchangedETag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchangedETag).build();
+        }
         var order = getOrderUseCase.getOrderById(id, userId);
-        var response = OrderResponse.fromDomain(order);
+        var response = OrderResponse.fromDetails(order);
         
         log.debug("Order found with ID: {}", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(order.orderId(), order.version()))
+                .body(response);
+    }
+
+    /**
+     * Obtiene una página de resúmenes de pedidos del usuario autenticado, sin sus líneas.
+     */
+    @GetMapping("/my-orders/summary")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get user order summaries", description = "Retrieve a page of order summaries (id, date, status, total, line count) "
+            + "for the authenticated user, newest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Order summaries retrieved successfully"),
+        @ApiResponse(responseCode = "204", description = "No orders found"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<OrderSummaryPageResponse> getMyOrderSummaries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size,
+            Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        OrderPageCursor after = cursor == null || cursor.isBlank() ? null : OrderPageCursor.decode(cursor);
+        var page = getOrderSummariesUseCase.getOrderSummaries(userId, after, size);
+
+        if (page.summaries().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(OrderSummaryPageResponse.fromPage(page));
+    }
+
+    /**
+     * Busca pedidos de cualquier usuario por estado, rango de fechas, rango de importe
+     * y producto contenido. Uso exclusivo del back-office.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search orders", description = "Search orders of all users by status, creation date range [from, to), "
+            + "amount range and contained product, newest first. Admin role required.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Orders found"),
+        @ApiResponse(responseCode = "204", description = "No orders match the filters"),
+        @ApiResponse(responseCode = "400", description = "Invalid filters, cursor or page size"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<OrderPageResponse> searchOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+
+        var criteria = new OrderSearchCriteria(status, from, to, minAmount, maxAmount, productId);
+        log.debug("Received order search: {}", criteria);
+
+        OrderPageCursor after = cursor == null || cursor.isBlank() ? null : OrderPageCursor.decode(cursor);
+        var page = searchOrdersUseCase.searchOrders(criteria, after, size);
+
+        if (page.orders().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(OrderPageResponse.fromPage(page));
+    }
+
+    /**
+     * Exporta el historial completo del usuario autenticado como JSON delimitado por líneas.
+     * Las ordenes se escriben a medida que se leen, sin construir la lista en memoria.
+     */
+    @GetMapping(value = "/my-orders/export", produces = NDJSON)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Export user orders", description = "Stream every order of the authenticated user as newline-delimited JSON, newest first")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Orders streamed"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> exportMyOrders(Authentication authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        log.debug("Received request to export orders for user ID: {}", userId);
+
+        StreamingResponseBody body = output -> getOrderUseCase.exportOrdersByUser(userId, order -> {
+            try {
+                output.write(objectMapper.writeValueAsBytes(OrderResponse.fromDomain(order)));
+                output.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     /**
@@ -106,30 +459,55 @@ public class OrderController {
      */
     @GetMapping("/my-orders")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Get user orders", description = "Retrieve all orders for the authenticated user")
+    @Operation(summary = "Get user orders", description = "Retrieve a page of orders for the authenticated user, newest first. "
+            + "Pass the returned nextCursor to get the following page.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
         @ApiResponse(responseCode = "204", description = "No orders found"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<List<OrderResponse>> getMyOrders(Authentication authentication) {
+    public ResponseEntity<OrderPageResponse> getMyOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            Authentication authentication) {
         
         Long userId = getUserIdFromAuthentication(authentication);
-        log.debug("Received request to get all orders for user ID: {}", userId);
+        log.debug("Received request to get orders for user ID: {}", userId);
 
-        var orders = getOrderUseCase.getOrdersByUser(userId);
+        OrderPageCursor after = cursor == null || cursor.isBlank() ? null : OrderPageCursor.decode(cursor);
+        var page = getOrderUseCase.getOrdersByUser(userId, after, size);
         
-        if (orders.isEmpty()) {
+        if (page.orders().isEmpty()) {
             log.debug("No orders found for user ID: {}", userId);
             return ResponseEntity.noContent().build();
         }
-        
-        var response = orders.stream()
-                .map(OrderResponse::fromDomain)
-                .toList();
                 
-        log.debug("Returning {} orders for user ID: {}", response.size(), userId);
-        return ResponseEntity.ok(response);
+        log.debug("Returning {} orders for user ID: {}", page.orders().size(), userId);
+        return ResponseEntity.ok(OrderPageResponse.fromPage(page));
+    }
+
+    private CreateOrderCommand toCommand(Long userId, CreateOrderRequest request) {
+        return new CreateOrderCommand(
+            userId,
+            request.getItems().stream()
+                .map(item -> new OrderItemCommand(item.getProductId(), item.getQuantity()))
+                .toList()
+        );
+    }
+
+    /**
+     * Devuelve el ETag actual si coincide con el que ya tiene el cliente, consultando solo
+     * la versión de la orden; null si hay que enviar la representación completa.
+     */
+    private String unchangedETag(Long orderId, Long userId, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        return getOrderUseCase.getOrderVersion(orderId, userId)
+                .map(version -> EntityTags.of(orderId, version))
+                .filter(etag -> EntityTags.matches(ifNoneMatch, etag))
+                .orElse(null);
     }
 
     private Long getUserIdFromAuthentication(Authentication authentication) {
@@ -0,0 +1,33 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para la creación de varias ordenes en una sola petición.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request payload for bulk order submission")
+public class BatchCreateOrderRequest {
+
+    @NotNull(message = "Orders list cannot be null")
+    @NotEmpty(message = "Batch must have at least one order")
+    @Size(max = 500, message = "Batch cannot have more than 500 orders")
+    @Valid
+    private List<CreateOrderRequest> orders;
+}
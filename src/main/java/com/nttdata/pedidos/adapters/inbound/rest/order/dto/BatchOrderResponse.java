@@ -0,0 +1,63 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import com.nttdata.pedidos.application.order.port.in.OrderBatchResult;
+import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una creación de ordenes en lote.
+ * Incluye un resultado por orden enviada, en el mismo orden de la petición.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponse {
+    private int created;
+    private int failed;
+    private List<BatchOrderItemResponse> results;
+
+    public static BatchOrderResponse fromResults(List<OrderBatchResult> results) {
+        List<BatchOrderItemResponse> items = new ArrayList<>(results.size());
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            OrderBatchResult result = results.get(i);
+            if (result.succeeded()) {
+                created++;
+                items.add(new BatchOrderItemResponse(i, "CREATED", OrderResponse.fromDomain(result.order()), null, null));
+            } else {
+                items.add(new BatchOrderItemResponse(i, "FAILED", null,
+                        errorCode(result.error()), result.error().getMessage()));
+            }
+        }
+        return new BatchOrderResponse(created, results.size() - created, items);
+    }
+
+    private static String errorCode(RuntimeException error) {
+        if (error instanceof InsufficientStockException) {
+            return "INSUFFICIENT_STOCK";
+        }
+        if (error instanceof IllegalArgumentException) {
+            return "INVALID_ORDER";
+        }
+        return "ORDER_REJECTED";
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchOrderItemResponse {
+        private int index;
+        private String status;
+        private OrderResponse order;
+        private String errorCode;
+        private String errorMessage;
+    }
+}
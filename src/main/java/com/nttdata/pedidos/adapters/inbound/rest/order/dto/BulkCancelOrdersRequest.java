@@ -0,0 +1,29 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para cancelar varias ordenes en una sola petición.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request payload for bulk order cancellation")
+public class BulkCancelOrdersRequest {
+
+    @NotEmpty(message = "Order IDs cannot be empty")
+    @Size(max = 10000, message = "Cannot cancel more than 10000 orders at once")
+    @Schema(description = "IDs of the orders to cancel", example = "[101, 102, 103]")
+    private List<@NotNull Long> orderIds;
+}
@@ -0,0 +1,21 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO devuelto al aceptar una orden de forma asíncrona.
+ * Indica dónde consultar el estado final de la orden.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderAcceptedResponse {
+    private Long orderId;
+    private String status;
+    private String statusUrl;
+}
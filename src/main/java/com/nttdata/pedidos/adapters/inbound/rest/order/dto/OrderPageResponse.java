@@ -0,0 +1,34 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import com.nttdata.pedidos.application.order.port.in.OrderPage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para una página del historial de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of orders, newest first")
+public class OrderPageResponse {
+
+    @Schema(description = "Orders in this page")
+    private List<OrderResponse> orders;
+
+    @Schema(description = "Cursor to request the next page, absent on the last page")
+    private String nextCursor;
+
+    public static OrderPageResponse fromPage(OrderPage page) {
+        return new OrderPageResponse(
+                page.orders().stream().map(OrderResponse::fromDomain).toList(),
+                page.hasNext() ? page.nextCursor().encode() : null);
+    }
+}
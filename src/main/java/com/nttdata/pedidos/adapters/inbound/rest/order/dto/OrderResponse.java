@@ -1,6 +1,7 @@
 package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
 
 import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
 import com.nttdata.pedidos.domain.order.OrderItem;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -37,7 +38,7 @@ public class OrderResponse {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
         response.setUserId(order.getUserId());
-        response.setStatus(order.getStatus());
+        response.setStatus(order.getStatus().name());
         response.setTotalAmount(order.getTotalAmount());
         response.setCreatedAt(order.getCreatedAt());
         
@@ -50,6 +51,15 @@ public class OrderResponse {
         return response;
     }
 
+    public static OrderResponse fromDetails(OrderDetails details) {
+        return new OrderResponse(details.orderId(), details.userId(), details.status().name(),
+                details.totalAmount(), details.createdAt(),
+                details.items().stream()
+                        .map(line -> new OrderItemResponse(line.productId(), line.productName(),
+                                line.quantity(), line.unitPrice(), line.subtotal()))
+                        .collect(Collectors.toList()));
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,29 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el estado actual de una orden.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusResponse {
+    private Long orderId;
+    private String status;
+
+    public static OrderStatusResponse fromDomain(Order order) {
+        return new OrderStatusResponse(order.getId(), order.getStatus().name());
+    }
+
+    public static OrderStatusResponse fromDetails(OrderDetails details) {
+        return new OrderStatusResponse(details.orderId(), details.status().name());
+    }
+}
@@ -0,0 +1,38 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para mover un lote de ordenes de un estado a otro.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request payload for a bulk order status transition")
+public class OrderStatusTransitionRequest {
+
+    @NotEmpty(message = "Order IDs cannot be empty")
+    @Size(max = 10000, message = "Cannot transition more than 10000 orders at once")
+    @Schema(description = "IDs of the orders to move", example = "[101, 102, 103]")
+    private List<@NotNull Long> orderIds;
+
+    @NotNull(message = "Expected status is required")
+    @Schema(description = "Status the orders must currently be in", example = "CONFIRMED")
+    private OrderStatus expectedStatus;
+
+    @NotNull(message = "New status is required")
+    @Schema(description = "Target status", example = "SHIPPED")
+    private OrderStatus newStatus;
+}
@@ -0,0 +1,28 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta de una transición de estado en bloque.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a bulk order status transition")
+public class OrderStatusTransitionResponse {
+
+    @Schema(description = "Number of distinct orders requested", example = "3")
+    private int requested;
+
+    @Schema(description = "Number of orders moved to the new status", example = "2")
+    private int updated;
+
+    @Schema(description = "Orders skipped because they were not in the expected status", example = "1")
+    private int skipped;
+}
@@ -0,0 +1,34 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import com.nttdata.pedidos.application.order.port.in.OrderSummaryPage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para una página de resúmenes de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of the authenticated user's order summaries, newest first")
+public class OrderSummaryPageResponse {
+
+    @Schema(description = "Order summaries in this page")
+    private List<OrderSummaryResponse> orders;
+
+    @Schema(description = "Cursor to request the next page, absent on the last page")
+    private String nextCursor;
+
+    public static OrderSummaryPageResponse fromPage(OrderSummaryPage page) {
+        return new OrderSummaryPageResponse(
+                page.summaries().stream().map(OrderSummaryResponse::fromDomain).toList(),
+                page.hasNext() ? page.nextCursor().encode() : null);
+    }
+}
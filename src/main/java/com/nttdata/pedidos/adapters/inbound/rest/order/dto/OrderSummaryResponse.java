@@ -0,0 +1,33 @@
+package com.nttdata.pedidos.adapters.inbound.rest.order.dto;
+
+import com.nttdata.pedidos.domain.order.OrderSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta con el resumen de una orden para listados.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Order summary for list views")
+public class OrderSummaryResponse {
+    private Long id;
+    private String status;
+    private BigDecimal totalAmount;
+    private int lineCount;
+    private LocalDateTime createdAt;
+
+    public static OrderSummaryResponse fromDomain(OrderSummary summary) {
+        return new OrderSummaryResponse(summary.orderId(), summary.status().name(),
+                summary.totalAmount(), summary.lineCount(), summary.createdAt());
+    }
+}
@@ -1,11 +1,15 @@
 package com.nttdata.pedidos.adapters.inbound.rest.product;
 
+import com.nttdata.pedidos.adapters.inbound.rest.EntityTags;
+import com.nttdata.pedidos.adapters.inbound.rest.product.dto.ProductPageResponse;
 import com.nttdata.pedidos.adapters.inbound.rest.product.dto.ProductRequest;
 import com.nttdata.pedidos.adapters.inbound.rest.product.dto.ProductResponse;
 import com.nttdata.pedidos.adapters.inbound.rest.product.dto.UpdateStockRequest;
 import com.nttdata.pedidos.adapters.inbound.rest.product.mapper.ProductRestMapper;
 import com.nttdata.pedidos.application.product.port.in.CreateProductUseCase;
 import com.nttdata.pedidos.application.product.port.in.GetProductsUseCase;
+import com.nttdata.pedidos.application.product.port.in.ProductPageCursor;
+import com.nttdata.pedidos.application.product.port.in.ProductSort;
 import com.nttdata.pedidos.application.product.port.in.UpdateProductUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,16 +17,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Controller REST para la gestión de productos.
  * Expone endpoints siguiendo las mejores prácticas RESTful.
@@ -32,6 +37,7 @@ import java.util.stream.Collectors;
  * @since 2025-11-14
  */
 @Slf4j
+@Validated
 @RestController
 @RequestMapping("/api/productos")
 @RequiredArgsConstructor
@@ -69,44 +75,55 @@ public class ProductController {
     }
 
     /**
-     * Obtiene todos los productos activos.
+     * Obtiene una página de productos activos.
      */
     @GetMapping
-    @Operation(summary = "Get all active products", description = "Retrieve a list of all active products")
+    @Operation(summary = "Get active products", description = "Retrieve a page of active products sorted by NAME, "
+            + "PRICE (both ascending) or NEWEST. Pass the returned nextCursor with the same sort to get the following page.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
-        @ApiResponse(responseCode = "204", description = "No products found")
+        @ApiResponse(responseCode = "204", description = "No products found"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort, cursor or page size")
     })
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        log.debug("Received request to get all active products");
+    public ResponseEntity<ProductPageResponse> getAllProducts(
+            @RequestParam(defaultValue = "NAME") ProductSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        log.debug("Received request to get {} active products sorted by {}", size, sort);
         
-        var products = getProductsUseCase.getAllActiveProducts();
+        ProductPageCursor after = cursor == null || cursor.isBlank() ? null : ProductPageCursor.decode(cursor, sort);
+        var page = getProductsUseCase.getActiveProducts(sort, after, size);
         
-        if (products.isEmpty()) {
+        if (page.products().isEmpty()) {
             log.debug("No active products found");
             return ResponseEntity.noContent().build();
         }
         
-        var response = products.stream()
-                .map(productRestMapper::toResponse)
-                .collect(Collectors.toList());
-        
-        log.debug("Returning {} active products", response.size());
-        return ResponseEntity.ok(response);
+        log.debug("Returning {} active products", page.products().size());
+        return ResponseEntity.ok(productRestMapper.toPageResponse(page));
     }
 
     /**
      * Obtiene un producto por ID.
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get product by ID", description = "Retrieve a specific product by its ID")
+    @Operation(summary = "Get product by ID", description = "Retrieve a specific product by its ID. "
+            + "Send the last ETag in If-None-Match to get a 304 while the product is unchanged")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Product found"),
+        @ApiResponse(responseCode = "304", description = "Product not modified since the given ETag"),
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Received request to get product by ID: {}", id);
         
+        String unchangedETag = unchangedETag(id, ifNoneMatch);
+        if (unchangedETag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchangedETag).build();
+        }
+        
         var product = getProductsUseCase.getProductById(id)
                 .orElseThrow(() -> {
                     log.warn("Product not found with ID: {}", id);
@@ -114,7 +131,9 @@ public class ProductController {
                 });
         
         var response = productRestMapper.toResponse(product);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(product.getId(), product.getVersion()))
+                .body(response);
     }
 
     /**
@@ -169,4 +188,18 @@ public class ProductController {
         log.info("Stock updated successfully for product ID: {}", id);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Devuelve el ETag actual si coincide con el que ya tiene el cliente, consultando solo
+     * la versión del producto; null si hay que enviar la representación completa.
+     */
+    private String unchangedETag(Long productId, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        return getProductsUseCase.getProductVersion(productId)
+                .map(version -> EntityTags.of(productId, version))
+                .filter(etag -> EntityTags.matches(ifNoneMatch, etag))
+                .orElse(null);
+    }
+}
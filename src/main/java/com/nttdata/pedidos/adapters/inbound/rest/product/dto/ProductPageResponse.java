@@ -0,0 +1,27 @@
+package com.nttdata.pedidos.adapters.inbound.rest.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para una página del listado de productos.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of active products in the requested sort order")
+public class ProductPageResponse {
+
+    @Schema(description = "Products in this page")
+    private List<ProductResponse> products;
+
+    @Schema(description = "Cursor to request the next page with the same sort, absent on the last page")
+    private String nextCursor;
+}
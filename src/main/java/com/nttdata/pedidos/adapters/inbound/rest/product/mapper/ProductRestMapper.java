@@ -1,8 +1,10 @@
 package com.nttdata.pedidos.adapters.inbound.rest.product.mapper;
 
+import com.nttdata.pedidos.adapters.inbound.rest.product.dto.ProductPageResponse;
 import com.nttdata.pedidos.adapters.inbound.rest.product.dto.ProductRequest;
 import com.nttdata.pedidos.adapters.inbound.rest.product.dto.ProductResponse;
 import com.nttdata.pedidos.application.product.port.in.CreateProductCommand;
+import com.nttdata.pedidos.application.product.port.in.ProductPage;
 import com.nttdata.pedidos.application.product.port.in.UpdateProductCommand;
 import com.nttdata.pedidos.application.product.port.in.UpdateProductStockCommand;
 import com.nttdata.pedidos.domain.product.Product;
@@ -66,4 +68,13 @@ public class ProductRestMapper {
                 .updatedAt(product.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * Convierte ProductPage a ProductPageResponse, con el cursor ya codificado.
+     */
+    public ProductPageResponse toPageResponse(ProductPage page) {
+        return new ProductPageResponse(
+                page.products().stream().map(this::toResponse).toList(),
+                page.hasNext() ? page.nextCursor().encode() : null);
+    }
 }
\ No newline at end of file
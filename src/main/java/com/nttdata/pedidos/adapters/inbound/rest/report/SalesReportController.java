@@ -0,0 +1,88 @@
+package com.nttdata.pedidos.adapters.inbound.rest.report;
+
+import com.nttdata.pedidos.adapters.inbound.rest.report.dto.ProductSalesRebuildResponse;
+import com.nttdata.pedidos.adapters.inbound.rest.report.dto.ProductSalesResponse;
+import com.nttdata.pedidos.application.order.port.in.ProductSalesReportUseCase;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST para los informes de ventas.
+ * Solo lee los acumulados diarios, nunca las líneas de orden.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Sales Reports", description = "APIs for sales reporting")
+@SecurityRequirement(name = "bearerAuth")
+public class SalesReportController {
+
+    private final ProductSalesReportUseCase productSalesReportUseCase;
+
+    /**
+     * Obtiene las ventas diarias por producto en un rango de días (solo administradores).
+     */
+    @GetMapping("/product-sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get product sales", description = "Retrieve units sold and revenue per product and day in [from, to), "
+            + "optionally for a single product. Admin role required.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Product sales retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<List<ProductSalesResponse>> getProductSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId) {
+
+        log.debug("Received request for product sales from {} to {}", from, to);
+
+        List<ProductSalesResponse> response = productSalesReportUseCase.getProductSales(from, to, productId).stream()
+                .map(ProductSalesResponse::fromDomain)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Recalcula los acumulados de ventas de un rango de días desde las ordenes (solo administradores).
+     */
+    @PostMapping("/product-sales/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild product sales", description = "Recompute the product sales rollups of [from, to) from the orders. "
+            + "Each day is rebuilt in its own short transaction; order creation only waits while a single day is recomputed. "
+            + "Admin role required.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Product sales rebuilt"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - Admin role required")
+    })
+    public ResponseEntity<ProductSalesRebuildResponse> rebuildProductSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        log.info("Received request to rebuild product sales from {} to {}", from, to);
+
+        int buckets = productSalesReportUseCase.rebuildProductSales(from, to);
+        return ResponseEntity.ok(new ProductSalesRebuildResponse(from, to, buckets));
+    }
+}
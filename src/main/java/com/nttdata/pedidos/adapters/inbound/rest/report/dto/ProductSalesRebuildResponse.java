@@ -0,0 +1,30 @@
+package com.nttdata.pedidos.adapters.inbound.rest.report.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta del recálculo de los acumulados de ventas.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a product sales rebuild")
+public class ProductSalesRebuildResponse {
+
+    @Schema(description = "First day rebuilt", example = "2025-11-01")
+    private LocalDate from;
+
+    @Schema(description = "First day not rebuilt", example = "2025-12-01")
+    private LocalDate to;
+
+    @Schema(description = "Product/day buckets written", example = "930")
+    private int buckets;
+}
@@ -0,0 +1,39 @@
+package com.nttdata.pedidos.adapters.inbound.rest.report.dto;
+
+import com.nttdata.pedidos.domain.order.ProductSales;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta con las ventas de un producto en un día.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Units sold and revenue of a product on a day")
+public class ProductSalesResponse {
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Sales day", example = "2025-11-14")
+    private LocalDate date;
+
+    @Schema(description = "Units sold", example = "42")
+    private long units;
+
+    @Schema(description = "Revenue", example = "1250.00")
+    private BigDecimal revenue;
+
+    public static ProductSalesResponse fromDomain(ProductSales sales) {
+        return new ProductSalesResponse(sales.productId(), sales.salesDate(), sales.units(), sales.revenue());
+    }
+}
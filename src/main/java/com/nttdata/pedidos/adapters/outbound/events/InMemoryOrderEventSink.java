@@ -0,0 +1,40 @@
+package com.nttdata.pedidos.adapters.outbound.events;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Guarda los eventos en memoria y avisa a los listeners registrados. Pensado para tests.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.orders.outbox", name = "sink", havingValue = "memory")
+public class InMemoryOrderEventSink implements OrderEventSink {
+
+    private final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+    private final List<Consumer<OutboxMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        received.addAll(messages);
+        messages.forEach(message -> listeners.forEach(listener -> listener.accept(message)));
+    }
+
+    public void addListener(Consumer<OutboxMessage> listener) {
+        listeners.add(listener);
+    }
+
+    public List<OutboxMessage> received() {
+        return List.copyOf(received);
+    }
+
+    public void clear() {
+        received.clear();
+    }
+}
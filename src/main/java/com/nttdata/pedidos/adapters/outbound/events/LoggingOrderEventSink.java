@@ -0,0 +1,24 @@
+package com.nttdata.pedidos.adapters.outbound.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Escribe cada evento en el logger {@code order-events}, que puede redirigirse a su propio fichero.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j(topic = "order-events")
+@Component
+@ConditionalOnProperty(prefix = "app.orders.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOrderEventSink implements OrderEventSink {
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(message -> log.info("{} {} {}", message.eventType(), message.aggregateId(), message.payload()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.nttdata.pedidos.adapters.outbound.events;
+
+import java.util.List;
+
+/**
+ * Destino al que el relay entrega los eventos de la bandeja de salida.
+ * Se elige con {@code app.orders.outbox.sink} ({@code log}, {@code webhook} o {@code memory}).
+ *
+ * Una excepción hace que el lote completo se reintente en la siguiente pasada,
+ * por lo que las implementaciones deben tolerar entregas repetidas.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface OrderEventSink {
+
+    void publish(List<OutboxMessage> messages);
+}
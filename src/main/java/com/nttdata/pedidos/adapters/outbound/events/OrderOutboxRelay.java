@@ -0,0 +1,139 @@
+package com.nttdata.pedidos.adapters.outbound.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Publica los eventos de la bandeja de salida fuera de la transacción de checkout.
+ * Cada lote se reclama en una transacción corta ({@code FOR UPDATE SKIP LOCKED} y una
+ * marca {@code claimed_until}), se entrega al {@link OrderEventSink} sin ninguna
+ * transacción ni bloqueo abiertos y se borra en otra transacción corta. Varias
+ * instancias pueden publicar en paralelo sin repartir el mismo evento.
+ *
+ * La entrega es al menos una vez: si el sink falla, el reclamo se libera y el lote
+ * vuelve a intentarse; si la instancia cae, el reclamo vence y lo toma otra.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private static final String CLAIM_BATCH_SQL =
+            "UPDATE order_outbox SET claimed_until = ? WHERE id IN (" +
+            "SELECT id FROM order_outbox WHERE claimed_until IS NULL OR claimed_until < ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, aggregate_id, event_type, payload, created_at";
+    private static final String UNCLAIM_SQL = "UPDATE order_outbox SET claimed_until = NULL WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM order_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderEventSink sink;
+    private final int batchSize;
+    private final long claimTimeoutMs;
+    private final Counter published;
+    private final Counter failures;
+
+    public OrderOutboxRelay(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            OrderEventSink sink,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.orders.outbox.batch-size:200}") int batchSize,
+                            @Value("${app.orders.outbox.claim-timeout-ms:60000}") long claimTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.published = Counter.builder("orders.outbox.published")
+                .description("Order events delivered by the outbox relay")
+                .register(meterRegistry);
+        this.failures = Counter.builder("orders.outbox.failures")
+                .description("Outbox batches that failed and will be retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Vacía la bandeja de salida lote a lote hasta que no quedan eventos o falla una entrega.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.outbox.relay-interval-ms:500}")
+    public void relay() {
+        int delivered;
+        do {
+            try {
+                delivered = relayBatch();
+            } catch (RuntimeException ex) {
+                failures.increment();
+                log.warn("Order outbox delivery failed, batch will be retried: {}", ex.getMessage());
+                return;
+            }
+        } while (delivered == batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> messages = transactionTemplate.execute(status -> claimBatch());
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publish(messages);
+        } catch (RuntimeException ex) {
+            unclaim(messages);
+            throw ex;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(DELETE_SQL, ids(messages)));
+        published.increment(messages.size());
+        log.debug("Relayed {} order events", messages.size());
+        return messages.size();
+    }
+
+    /**
+     * Marca el siguiente lote libre o con el reclamo vencido y lo devuelve en orden de ID.
+     */
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp claimedUntil = Timestamp.valueOf(now.plusNanos(claimTimeoutMs * 1_000_000));
+        return jdbcTemplate.query(CLAIM_BATCH_SQL, (rs, rowNum) -> new OutboxMessage(
+                        rs.getLong("id"),
+                        rs.getLong("aggregate_id"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                claimedUntil, Timestamp.valueOf(now), batchSize).stream()
+                .sorted(Comparator.comparing(OutboxMessage::id))
+                .toList();
+    }
+
+    /**
+     * Libera el reclamo de un lote no entregado para reintentarlo en la siguiente pasada.
+     * Si también falla, el reclamo vence solo.
+     */
+    private void unclaim(List<OutboxMessage> messages) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UNCLAIM_SQL, ids(messages)));
+        } catch (RuntimeException ex) {
+            log.warn("Could not release claim of {} outbox events: {}", messages.size(), ex.getMessage());
+        }
+    }
+
+    private static List<Object[]> ids(List<OutboxMessage> messages) {
+        return messages.stream()
+                .map(message -> new Object[]{message.id()})
+                .toList();
+    }
+}
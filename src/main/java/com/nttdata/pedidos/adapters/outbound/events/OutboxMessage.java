@@ -0,0 +1,16 @@
+package com.nttdata.pedidos.adapters.outbound.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la bandeja de salida lista para publicarse.
+ *
+ * @param id identificador de la fila, creciente en orden de inserción
+ * @param aggregateId ID de la orden
+ * @param eventType tipo de evento (p. ej. {@code OrderCreated})
+ * @param payload evento serializado en JSON
+ * @param createdAt instante de creación
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record OutboxMessage(Long id, Long aggregateId, String eventType, String payload, LocalDateTime createdAt) {}
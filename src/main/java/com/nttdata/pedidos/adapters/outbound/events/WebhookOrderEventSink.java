@@ -0,0 +1,60 @@
+package com.nttdata.pedidos.adapters.outbound.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.http.client.ClientHttpRequestFactorySettings;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Envía cada lote de eventos en un único POST a un webhook, como array JSON.
+ * Cualquier respuesta de error lanza una excepción y el lote se reintenta.
+ * La conexión y la lectura tienen tiempos máximos explícitos para que un webhook lento
+ * no retenga el relay más allá del reclamo de su lote.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.orders.outbox", name = "sink", havingValue = "webhook")
+public class WebhookOrderEventSink implements OrderEventSink {
+
+    private final RestClient restClient;
+
+    public WebhookOrderEventSink(RestClient.Builder restClientBuilder,
+                                 @Value("${app.orders.outbox.webhook.url}") String webhookUrl,
+                                 @Value("${app.orders.outbox.webhook.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                 @Value("${app.orders.outbox.webhook.read-timeout-ms:5000}") long readTimeoutMs) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.defaults()
+                .withConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .withReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restClient = restClientBuilder
+                .baseUrl(webhookUrl)
+                .requestFactory(ClientHttpRequestFactoryBuilder.detect().build(settings))
+                .build();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        // Los payloads ya son JSON: se concatenan en un array sin volver a serializarlos
+        String body = messages.stream()
+                .map(OutboxMessage::payload)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Event-Type", messages.get(0).eventType())
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+        log.debug("Delivered {} order events to webhook", messages.size());
+    }
+}
@@ -0,0 +1,211 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderRepository;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
+import com.nttdata.pedidos.domain.order.OrderItem;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Caché de lectura delante del adaptador de persistencia de ordenes.
+ * Guarda las ordenes por ID (el agregado y su vista de detalle) y la primera página del
+ * historial de cada usuario, que es lo que consulta el polling de los clientes. Las
+ * cachés están acotadas por tamaño y caducan por TTL.
+ *
+ * Toda escritura que pasa por este puerto invalida las ordenes y usuarios afectados al
+ * escribir y de nuevo al terminar la transacción. Los fallos de caché se cargan de forma
+ * atómica con la propia entrada ({@code Cache.get} y {@code asMap().compute}): una
+ * invalidación que llega mientras una lectura está cargando datos anteriores al commit
+ * espera a que termine la carga y después la descarta, así que ese valor nunca sobrevive
+ * a la invalidación posterior al commit.
+ *
+ * Las ordenes se copian al entrar y salir de la caché porque el dominio es mutable; los
+ * detalles son inmutables y la comprobación de propietario se repite en cada acierto.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "app.orders.cache", name = "enabled", havingValue = "true")
+public class CachingOrderPersistenceAdapter implements OrderPersistencePort {
+
+    private final OrderPersistenceAdapter delegate;
+    private final SpringDataOrderRepository orderRepository;
+    private final Cache<Long, Order> ordersById;
+    private final Cache<Long, OrderDetails> detailsById;
+    private final Cache<Long, FirstPage> firstPages;
+
+    public CachingOrderPersistenceAdapter(OrderPersistenceAdapter delegate,
+                                          SpringDataOrderRepository orderRepository,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.orders.cache.max-orders:10000}") long maxOrders,
+                                          @Value("${app.orders.cache.max-pages:5000}") long maxPages,
+                                          @Value("${app.orders.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.orderRepository = orderRepository;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.ordersById = Caffeine.newBuilder()
+                .maximumSize(maxOrders)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.detailsById = Caffeine.newBuilder()
+                .maximumSize(maxOrders)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, ordersById, "orders.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, detailsById, "orders.details-by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, firstPages, "orders.user-first-page");
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        invalidate(List.of(saved.getId()), List.of(saved.getUserId()));
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        invalidate(saved.stream().map(Order::getId).toList(),
+                saved.stream().map(Order::getUserId).distinct().toList());
+        return saved;
+    }
+
+    @Override
+    public Optional<Order> findById(Long orderId) {
+        Order cached = ordersById.get(orderId, id -> delegate.findById(id).map(order -> copy(order)).orElse(null));
+        return Optional.ofNullable(cached).map(order -> copy(order));
+    }
+
+    @Override
+    public Optional<OrderDetails> findDetailsByIdAndUserId(Long orderId, Long userId) {
+        OrderDetails cached = detailsById.get(orderId, id -> delegate.findDetailsByIdAndUserId(id, userId).orElse(null));
+        return Optional.ofNullable(cached).filter(details -> details.userId().equals(userId));
+    }
+
+    @Override
+    public List<Order> findPageByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        if (beforeCreatedAt != null) {
+            return delegate.findPageByUserId(userId, beforeCreatedAt, beforeId, limit);
+        }
+        FirstPage cached = firstPages.getIfPresent(userId);
+        if (cached == null || cached.limit() != limit) {
+            cached = firstPages.asMap().compute(userId, (id, current) -> current != null && current.limit() == limit
+                    ? current
+                    : new FirstPage(limit, copyAll(delegate.findPageByUserId(id, null, null, limit))));
+        }
+        return copyAll(cached.orders());
+    }
+
+    @Override
+    public void streamByUserId(Long userId, Consumer<Order> consumer) {
+        delegate.streamByUserId(userId, consumer);
+    }
+
+    @Override
+    public Optional<Long> findVersionByIdAndUserId(Long orderId, Long userId) {
+        OrderDetails cached = detailsById.getIfPresent(orderId);
+        if (cached != null) {
+            return Optional.of(cached).filter(details -> details.userId().equals(userId)).map(OrderDetails::version);
+        }
+        return delegate.findVersionByIdAndUserId(orderId, userId);
+    }
+
+    @Override
+    public boolean existsByIdAndUserId(Long orderId, Long userId) {
+        return delegate.existsByIdAndUserId(orderId, userId);
+    }
+
+    @Override
+    public Map<Long, OrderStatus> findStatuses(Collection<Long> orderIds) {
+        return delegate.findStatuses(orderIds);
+    }
+
+    @Override
+    public int transitionStatus(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus) {
+        int updated = delegate.transitionStatus(orderIds, expectedStatus, newStatus);
+        if (updated > 0) {
+            // Con la caché de páginas vacía no se consultan los usuarios: tras el commit se vacía entera,
+            // por si entretanto se cargó alguna página anterior al cambio
+            List<Long> userIds = firstPages.estimatedSize() == 0 ? null : orderRepository.findUserIds(orderIds);
+            invalidate(orderIds, userIds);
+        }
+        return updated;
+    }
+
+    @Override
+    public Map<Long, Integer> sumQuantitiesByProduct(Collection<Long> orderIds) {
+        return delegate.sumQuantitiesByProduct(orderIds);
+    }
+
+    /**
+     * Invalida las ordenes y las primeras páginas de sus usuarios ahora y al terminar la transacción.
+     * Sin {@code userIds} se invalidan todas las primeras páginas.
+     */
+    private void invalidate(Collection<Long> orderIds, Collection<Long> userIds) {
+        Runnable evict = () -> {
+            ordersById.invalidateAll(orderIds);
+            detailsById.invalidateAll(orderIds);
+            if (userIds == null) {
+                firstPages.invalidateAll();
+            } else {
+                firstPages.invalidateAll(userIds);
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private static List<Order> copyAll(List<Order> orders) {
+        List<Order> copies = new ArrayList<>(orders.size());
+        orders.forEach(order -> copies.add(copy(order)));
+        return copies;
+    }
+
+    private static Order copy(Order order) {
+        List<OrderItem> items = order.getItems() == null ? null : new ArrayList<>(order.getItems().stream()
+                .map(item -> item.toBuilder().build())
+                .toList());
+        return order.toBuilder().items(items).build();
+    }
+
+    private record FirstPage(int limit, List<Order> orders) {}
+}
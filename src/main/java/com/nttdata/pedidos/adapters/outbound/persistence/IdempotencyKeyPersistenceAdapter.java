@@ -0,0 +1,48 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataIdempotencyKeyRepository;
+import com.nttdata.pedidos.application.order.port.out.IdempotencyKeyPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia para las claves de idempotencia.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyPersistenceAdapter implements IdempotencyKeyPort {
+
+    private final SpringDataIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CompletedKey> findCompleted(String idempotencyKey, Long userId) {
+        return idempotencyKeyRepository.findCompleted(idempotencyKey, userId, LocalDateTime.now())
+                .map(entity -> new CompletedKey(entity.getOrderId(), entity.getRequestHash()));
+    }
+
+    @Override
+    public boolean reserve(String idempotencyKey, Long userId, String requestHash, LocalDateTime expiresAt) {
+        return idempotencyKeyRepository.reserve(idempotencyKey, userId, requestHash, LocalDateTime.now(), expiresAt) > 0;
+    }
+
+    @Override
+    public void complete(String idempotencyKey, Long userId, Long orderId) {
+        idempotencyKeyRepository.complete(idempotencyKey, userId, orderId);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return idempotencyKeyRepository.deleteExpired(now, limit);
+    }
+}
@@ -0,0 +1,67 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderIntakeEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderIntakeRepository;
+import com.nttdata.pedidos.application.order.port.out.OrderIntakeQueuePort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adaptador de persistencia para la cola de admisión de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderIntakeQueuePersistenceAdapter implements OrderIntakeQueuePort {
+
+    private final SpringDataOrderIntakeRepository intakeRepository;
+
+    @Override
+    public void enqueue(Long orderId) {
+        log.debug("Enqueuing order ID: {}", orderId);
+        intakeRepository.save(new OrderIntakeEntity(orderId, LocalDateTime.now()));
+    }
+
+    @Override
+    public boolean claim(Long orderId) {
+        return intakeRepository.deleteByOrderId(orderId) > 0;
+    }
+
+    @Override
+    public List<Long> claimAll(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        // Bloquear primero: un worker que esté procesando alguna de ellas termina antes de decidir
+        List<Long> claimed = intakeRepository.lockByOrderIds(orderIds).stream()
+                .map(OrderIntakeEntity::getOrderId)
+                .toList();
+        if (!claimed.isEmpty()) {
+            intakeRepository.deleteByOrderIds(claimed);
+        }
+        return claimed;
+    }
+
+    @Override
+    public List<StaleOrder> findStale(LocalDateTime enqueuedBefore, int limit) {
+        return intakeRepository.findEnqueuedBefore(enqueuedBefore, PageRequest.of(0, limit)).stream()
+                .map(entry -> new StaleOrder(entry.getOrderId(), entry.getAttempts()))
+                .toList();
+    }
+
+    @Override
+    public void recordAttempts(Collection<Long> orderIds, LocalDateTime now) {
+        if (!orderIds.isEmpty()) {
+            intakeRepository.recordAttempts(orderIds, now);
+        }
+    }
+}
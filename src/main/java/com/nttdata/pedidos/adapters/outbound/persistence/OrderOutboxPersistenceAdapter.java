@@ -0,0 +1,54 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.pedidos.application.order.port.out.OrderEventOutboxPort;
+import com.nttdata.pedidos.domain.order.OrderCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Adaptador JDBC de la bandeja de salida: serializa los eventos a JSON y los
+ * inserta en batch dentro de la transacción actual.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxPersistenceAdapter implements OrderEventOutboxPort {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_outbox (aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void appendCreated(List<OrderCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = events.stream()
+                .map(event -> new Object[]{event.orderId(), OrderCreatedEvent.TYPE, toJson(event), now})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+        log.debug("Appended {} order events to outbox", events.size());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize order event", ex);
+        }
+    }
+}
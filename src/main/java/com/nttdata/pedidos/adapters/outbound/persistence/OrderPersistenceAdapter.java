@@ -1,21 +1,37 @@
 package com.nttdata.pedidos.adapters.outbound.persistence;
 
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderItemEntity;
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.mapper.OrderEntityMapper;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.OrderDetailsRow;
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderRepository;
+import com.nttdata.pedidos.adapters.outbound.persistence.partition.OrderArchiveReader;
 import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
 import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adaptador de persistencia para Ordenes.
  * Implementa el puerto de salida usando JPA y Spring Data.
+ * Las búsquedas por ID consultan primero las particiones activas y, si no encuentran
+ * la orden, el esquema de archivo.
  * 
  * @author Jhan Robert Velez
  * @version 1.0
@@ -27,6 +43,10 @@ public class OrderPersistenceAdapter implements OrderPersistencePort {
 
     private final SpringDataOrderRepository orderRepository;
     private final OrderEntityMapper orderEntityMapper;
+    private final OrderSummaryPersistenceAdapter orderSummaryAdapter;
+    private final ProductSalesRollupAdapter productSalesRollupAdapter;
+    private final EntityManager entityManager;
+    private final OrderArchiveReader orderArchiveReader;
 
     @Override
     public Order save(Order order) {
@@ -34,32 +54,153 @@ public class OrderPersistenceAdapter implements OrderPersistencePort {
         
         OrderEntity entity = orderEntityMapper.toEntity(order);
         OrderEntity savedEntity = orderRepository.save(entity);
+        orderSummaryAdapter.upsert(List.of(savedEntity));
+        productSalesRollupAdapter.recordOrders(List.of(savedEntity));
         
         log.debug("Order saved successfully with ID: {}", savedEntity.getId());
         return orderEntityMapper.toDomain(savedEntity);
     }
 
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        log.debug("Saving {} orders", orders.size());
+
+        List<OrderEntity> entities = orders.stream()
+                .map(orderEntityMapper::toEntity)
+                .toList();
+        List<OrderEntity> savedEntities = orderRepository.saveAll(entities);
+        orderSummaryAdapter.upsert(savedEntities);
+        productSalesRollupAdapter.recordOrders(savedEntities);
+
+        return savedEntities.stream()
+                .map(orderEntityMapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Order> findById(Long orderId) {
         log.debug("Finding order by ID: {}", orderId);
         
         return orderRepository.findById(orderId)
-                .map(orderEntityMapper::toDomain);
+                .map(orderEntityMapper::toDomain)
+                .or(() -> orderArchiveReader.findById(orderId));
     }
 
     @Override
-    public List<Order> findByUserId(Long userId) {
-        log.debug("Finding orders for user ID: {}", userId);
-        
-        return orderRepository.findByUserId(userId).stream()
+    public Optional<OrderDetails> findDetailsByIdAndUserId(Long orderId, Long userId) {
+        log.debug("Finding details of order ID: {} for user ID: {}", orderId, userId);
+
+        List<OrderDetailsRow> rows = orderRepository.findDetailsByIdAndUserId(orderId, userId);
+        if (rows.isEmpty()) {
+            return orderArchiveReader.findDetailsByIdAndUserId(orderId, userId);
+        }
+        OrderDetailsRow header = rows.get(0);
+        List<OrderDetails.Line> lines = rows.stream()
+                .filter(row -> row.productId() != null)
+                .map(row -> new OrderDetails.Line(row.productId(), row.productName(), row.quantity(),
+                        row.unitPrice(), row.subtotal()))
+                .toList();
+        return Optional.of(new OrderDetails(header.orderId(), header.userId(), OrderStatus.valueOf(header.status()),
+                header.totalAmount(), header.createdAt(), header.version(), lines));
+    }
+
+    @Override
+    public List<Order> findPageByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        log.debug("Finding up to {} orders for user ID: {} before {}/{}", limit, userId, beforeCreatedAt, beforeId);
+
+        Limit pageLimit = Limit.of(limit);
+        List<OrderEntity> entities = beforeCreatedAt == null
+                ? orderRepository.findFirstPageByUserId(userId, pageLimit)
+                : orderRepository.findPageByUserIdBefore(userId, beforeCreatedAt, beforeId, pageLimit);
+        return entities.stream()
                 .map(orderEntityMapper::toDomain)
                 .toList();
     }
 
+    @Override
+    public void streamByUserId(Long userId, Consumer<Order> consumer) {
+        log.debug("Streaming orders for user ID: {}", userId);
+
+        List<OrderEntity> chunk = new ArrayList<>(SpringDataOrderRepository.STREAM_FETCH_SIZE);
+        try (Stream<OrderEntity> orders = orderRepository.streamByUserId(userId)) {
+            orders.forEach(order -> {
+                chunk.add(order);
+                if (chunk.size() == SpringDataOrderRepository.STREAM_FETCH_SIZE) {
+                    emitChunk(chunk, consumer);
+                }
+            });
+        }
+        emitChunk(chunk, consumer);
+    }
+
+    /**
+     * Carga las líneas del bloque en una sola consulta, entrega las ordenes y vacía el
+     * contexto de persistencia para que la memoria no crezca con el historial.
+     */
+    private void emitChunk(List<OrderEntity> chunk, Consumer<Order> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Long, List<OrderItemEntity>> itemsByOrder = orderRepository
+                .findItemsByOrderIds(chunk.stream().map(OrderEntity::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
+        for (OrderEntity order : chunk) {
+            consumer.accept(orderEntityMapper.toDomain(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    @Override
+    public Optional<Long> findVersionByIdAndUserId(Long orderId, Long userId) {
+        log.debug("Finding version of order ID: {} for user ID: {}", orderId, userId);
+
+        return orderRepository.findVersionByIdAndUserId(orderId, userId)
+                .or(() -> orderArchiveReader.findVersionByIdAndUserId(orderId, userId));
+    }
+
     @Override
     public boolean existsByIdAndUserId(Long orderId, Long userId) {
         log.debug("Checking if order ID: {} exists for user ID: {}", orderId, userId);
         
         return orderRepository.existsByIdAndUserId(orderId, userId);
     }
+
+    @Override
+    public Map<Long, OrderStatus> findStatuses(Collection<Long> orderIds) {
+        Map<Long, OrderStatus> statuses = new LinkedHashMap<>();
+        if (orderIds.isEmpty()) {
+            return statuses;
+        }
+        for (Object[] row : orderRepository.findStatuses(orderIds)) {
+            statuses.put((Long) row[0], OrderStatus.valueOf((String) row[1]));
+        }
+        return statuses;
+    }
+
+    @Override
+    public int transitionStatus(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus) {
+        log.debug("Moving {} orders from {} to {}", orderIds.size(), expectedStatus, newStatus);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+        productSalesRollupAdapter.applyTransition(orderIds, expectedStatus, newStatus);
+        int updated = orderRepository.transitionStatus(orderIds, expectedStatus.name(), newStatus.name(), LocalDateTime.now());
+        if (updated > 0) {
+            orderSummaryAdapter.transitionStatus(orderIds, expectedStatus, newStatus);
+        }
+        return updated;
+    }
+
+    @Override
+    public Map<Long, Integer> sumQuantitiesByProduct(Collection<Long> orderIds) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        if (orderIds.isEmpty()) {
+            return quantities;
+        }
+        for (Object[] row : orderRepository.sumQuantitiesByProduct(orderIds)) {
+            quantities.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return quantities;
+    }
 }
@@ -0,0 +1,91 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderItemEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.mapper.OrderEntityMapper;
+import com.nttdata.pedidos.application.order.port.out.OrderSearchPort;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptador de búsqueda de ordenes con la API Criteria de JPA.
+ * La consulta solo incluye los predicados de los filtros informados, para que el
+ * planificador pueda usar el índice (status, created_at, id) o el de (user_id, created_at, id),
+ * y solo toca {@code order_items} cuando se filtra por producto, mediante un EXISTS que
+ * aprovecha el índice (product_id, order_id) sin duplicar filas.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSearchAdapter implements OrderSearchPort {
+
+    private final EntityManager entityManager;
+    private final OrderEntityMapper orderEntityMapper;
+
+    @Override
+    public List<Order> search(OrderSearchCriteria criteria, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        log.debug("Searching up to {} orders with {} before {}/{}", limit, criteria, beforeCreatedAt, beforeId);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderEntity> query = cb.createQuery(OrderEntity.class);
+        Root<OrderEntity> order = query.from(OrderEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.status() != null) {
+            predicates.add(cb.equal(order.get("status"), criteria.status().name()));
+        }
+        if (criteria.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("createdAt"), criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            predicates.add(cb.lessThan(order.get("createdAt"), criteria.createdTo()));
+        }
+        if (criteria.minAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(order.get("totalAmount"), criteria.minAmount()));
+        }
+        if (criteria.maxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(order.get("totalAmount"), criteria.maxAmount()));
+        }
+        if (criteria.productId() != null) {
+            Subquery<Long> containsProduct = query.subquery(Long.class);
+            Root<OrderItemEntity> item = containsProduct.from(OrderItemEntity.class);
+            containsProduct.select(item.get("id")).where(
+                    cb.equal(item.get("productId"), criteria.productId()),
+                    cb.equal(item.get("order").get("id"), order.get("id")),
+                    // Las líneas comparten created_at con su orden: limita la búsqueda a su partición
+                    cb.equal(item.get("createdAt"), order.get("createdAt")));
+            predicates.add(cb.exists(containsProduct));
+        }
+        if (beforeCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(order.get("createdAt"), beforeCreatedAt),
+                    cb.and(cb.equal(order.get("createdAt"), beforeCreatedAt), cb.lessThan(order.get("id"), beforeId))));
+        }
+
+        query.select(order)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(order.get("createdAt")), cb.desc(order.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(orderEntityMapper::toDomain)
+                .toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
+import com.nttdata.pedidos.application.order.port.out.OrderSummaryQueryPort;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import com.nttdata.pedidos.domain.order.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adaptador JDBC del modelo de lectura {@code order_summaries}.
+ * {@link OrderPersistenceAdapter} lo mantiene en la misma transacción en que guarda
+ * las ordenes o cambia su estado; los listados se sirven con una sola consulta
+ * sobre esta tabla, sin joins ni hidratar entidades.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryPersistenceAdapter implements OrderSummaryQueryPort {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO order_summaries (order_id, user_id, status, total_amount, line_count, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (order_id) DO UPDATE SET " +
+            "status = EXCLUDED.status, total_amount = EXCLUDED.total_amount, line_count = EXCLUDED.line_count";
+    private static final String TRANSITION_SQL =
+            "UPDATE order_summaries SET status = ? WHERE order_id = ANY (?) AND status = ?";
+    private static final String SELECT_COLUMNS =
+            "SELECT order_id, user_id, status, total_amount, line_count, created_at FROM order_summaries ";
+    private static final String FIRST_PAGE_SQL = SELECT_COLUMNS +
+            "WHERE user_id = ? ORDER BY created_at DESC, order_id DESC LIMIT ?";
+    private static final String NEXT_PAGE_SQL = SELECT_COLUMNS +
+            "WHERE user_id = ? AND (created_at, order_id) < (?, ?) ORDER BY created_at DESC, order_id DESC LIMIT ?";
+
+    private static final RowMapper<OrderSummary> ROW_MAPPER = (rs, rowNum) -> new OrderSummary(
+            rs.getLong("order_id"),
+            rs.getLong("user_id"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getBigDecimal("total_amount"),
+            rs.getInt("line_count"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OrderSummary> findPageByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        if (beforeCreatedAt == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, ROW_MAPPER, userId, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, ROW_MAPPER, userId, Timestamp.valueOf(beforeCreatedAt), beforeId, limit);
+    }
+
+    /**
+     * Registra o actualiza el resumen de ordenes guardadas, en la transacción actual.
+     */
+    void upsert(List<OrderEntity> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = orders.stream()
+                .map(order -> new Object[]{
+                        order.getId(),
+                        order.getUserId(),
+                        order.getStatus(),
+                        order.getTotalAmount(),
+                        order.getItems().size(),
+                        Timestamp.valueOf(order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now())})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    /**
+     * Replica un cambio de estado ya aplicado en {@code orders}.
+     */
+    void transitionStatus(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus) {
+        int updated = jdbcTemplate.update(TRANSITION_SQL,
+                newStatus.name(), orderIds.toArray(Long[]::new), expectedStatus.name());
+        log.debug("Order summaries moved from {} to {}: {}", expectedStatus, newStatus, updated);
+    }
+}
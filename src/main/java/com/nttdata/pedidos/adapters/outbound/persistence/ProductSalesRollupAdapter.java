@@ -0,0 +1,162 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderItemEntity;
+import com.nttdata.pedidos.application.order.port.out.ProductSalesRollupPort;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import com.nttdata.pedidos.domain.order.ProductSales;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Adaptador JDBC de los acumulados diarios {@code product_sales_daily}.
+ * {@link OrderPersistenceAdapter} suma las líneas de las ordenes nuevas y resta las de
+ * las ordenes que dejan de contar como venta, en la misma transacción que las escribe.
+ * Los buckets se actualizan en orden de (producto, día) para no provocar deadlocks.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSalesRollupAdapter implements ProductSalesRollupPort {
+
+    private static final String ON_CONFLICT_ADD =
+            "ON CONFLICT (product_id, sales_date) DO UPDATE SET " +
+            "units = product_sales_daily.units + EXCLUDED.units, " +
+            "revenue = product_sales_daily.revenue + EXCLUDED.revenue";
+    private static final String ADD_SQL =
+            "INSERT INTO product_sales_daily (product_id, sales_date, units, revenue) VALUES (?, ?, ?, ?) " +
+            ON_CONFLICT_ADD;
+    private static final String ADD_TRANSITIONED_SQL =
+            "INSERT INTO product_sales_daily (product_id, sales_date, units, revenue) " +
+            "SELECT i.product_id, CAST(o.created_at AS DATE), ? * SUM(i.quantity), ? * SUM(i.subtotal) " +
+            "FROM (SELECT id, created_at FROM orders WHERE id = ANY (?) AND status = ? FOR UPDATE) o " +
+            "JOIN order_items i ON i.order_id = o.id AND i.created_at = o.created_at " +
+            "GROUP BY i.product_id, CAST(o.created_at AS DATE) " +
+            "ORDER BY 1, 2 " +
+            ON_CONFLICT_ADD;
+    private static final String SELECT_COLUMNS =
+            "SELECT product_id, sales_date, units, revenue FROM product_sales_daily ";
+    private static final String RANGE_SQL = SELECT_COLUMNS +
+            "WHERE sales_date >= ? AND sales_date < ? ORDER BY sales_date, product_id";
+    private static final String PRODUCT_RANGE_SQL = SELECT_COLUMNS +
+            "WHERE product_id = ? AND sales_date >= ? AND sales_date < ? ORDER BY sales_date";
+    private static final String LOCK_SQL = "LOCK TABLE product_sales_daily IN EXCLUSIVE MODE";
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM product_sales_daily WHERE sales_date >= ? AND sales_date < ?";
+    private static final String REBUILD_SQL =
+            "INSERT INTO product_sales_daily (product_id, sales_date, units, revenue) " +
+            "SELECT i.product_id, CAST(o.created_at AS DATE), SUM(i.quantity), SUM(i.subtotal) " +
+            "FROM (SELECT id, status, created_at FROM orders WHERE created_at >= ? AND created_at < ? " +
+            "      UNION ALL SELECT id, status, created_at FROM orders_archive.orders " +
+            "      WHERE created_at >= ? AND created_at < ?) o " +
+            "JOIN (SELECT order_id, product_id, quantity, subtotal, created_at FROM order_items " +
+            "      WHERE created_at >= ? AND created_at < ? " +
+            "      UNION ALL SELECT order_id, product_id, quantity, subtotal, created_at FROM orders_archive.order_items " +
+            "      WHERE created_at >= ? AND created_at < ?) i " +
+            "ON i.order_id = o.id AND i.created_at = o.created_at " +
+            "WHERE o.status NOT IN ('CANCELLED', 'REJECTED', 'EXPIRED') " +
+            "GROUP BY i.product_id, CAST(o.created_at AS DATE)";
+
+    private static final RowMapper<ProductSales> ROW_MAPPER = (rs, rowNum) -> new ProductSales(
+            rs.getLong("product_id"),
+            rs.getDate("sales_date").toLocalDate(),
+            rs.getLong("units"),
+            rs.getBigDecimal("revenue"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ProductSales> findByDateRange(LocalDate from, LocalDate to, Long productId) {
+        if (productId == null) {
+            return jdbcTemplate.query(RANGE_SQL, ROW_MAPPER, Date.valueOf(from), Date.valueOf(to));
+        }
+        return jdbcTemplate.query(PRODUCT_RANGE_SQL, ROW_MAPPER, productId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * El bloqueo exclusivo espera a las transacciones que ya han sumado sus ordenes y
+     * detiene las nuevas hasta el commit, de modo que ninguna orden se pierde ni se cuenta dos veces.
+     * El servicio lo invoca día a día, cada uno en su transacción, para que el bloqueo sea breve.
+     */
+    @Override
+    public int rebuild(LocalDate from, LocalDate to) {
+        jdbcTemplate.execute(LOCK_SQL);
+        jdbcTemplate.update(DELETE_RANGE_SQL, Date.valueOf(from), Date.valueOf(to));
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+        // Cada rama de la unión filtra por fecha para que solo se lean las particiones del intervalo
+        return jdbcTemplate.update(REBUILD_SQL, start, end, start, end, start, end, start, end);
+    }
+
+    /**
+     * Suma las líneas de ordenes recién creadas, agrupadas por producto y día.
+     */
+    void recordOrders(List<OrderEntity> orders) {
+        Map<SalesKey, Bucket> buckets = new TreeMap<>(SalesKey.ORDER);
+        for (OrderEntity order : orders) {
+            if (!OrderStatus.valueOf(order.getStatus()).countsAsSale()) {
+                continue;
+            }
+            LocalDate salesDate = (order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now()).toLocalDate();
+            for (OrderItemEntity item : order.getItems()) {
+                buckets.computeIfAbsent(new SalesKey(item.getProductId(), salesDate), key -> new Bucket())
+                        .add(item.getQuantity(), item.getSubtotal());
+            }
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> batchArgs.add(new Object[]{
+                key.productId(), Date.valueOf(key.salesDate()), bucket.units, bucket.revenue}));
+        jdbcTemplate.batchUpdate(ADD_SQL, batchArgs);
+    }
+
+    /**
+     * Ajusta los acumulados de las ordenes que van a cambiar de estado, si el cambio hace que
+     * empiecen o dejen de contar como venta. Debe llamarse antes de aplicar la transición:
+     * bloquea las ordenes que siguen en el estado esperado, que son las que se actualizarán.
+     */
+    void applyTransition(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus) {
+        if (expectedStatus.countsAsSale() == newStatus.countsAsSale()) {
+            return;
+        }
+        int sign = newStatus.countsAsSale() ? 1 : -1;
+        int buckets = jdbcTemplate.update(ADD_TRANSITIONED_SQL,
+                sign, sign, orderIds.toArray(Long[]::new), expectedStatus.name());
+        log.debug("Product sales adjusted for orders moving from {} to {}: {} buckets", expectedStatus, newStatus, buckets);
+    }
+
+    private record SalesKey(Long productId, LocalDate salesDate) {
+        static final Comparator<SalesKey> ORDER =
+                Comparator.comparing(SalesKey::productId).thenComparing(SalesKey::salesDate);
+    }
+
+    private static final class Bucket {
+        long units;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        void add(int quantity, BigDecimal subtotal) {
+            units += quantity;
+            revenue = revenue.add(subtotal);
+        }
+    }
+}
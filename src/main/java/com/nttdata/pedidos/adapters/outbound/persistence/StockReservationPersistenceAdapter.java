@@ -0,0 +1,66 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.application.product.port.out.StockReservationPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adaptador JDBC para las reservas temporales de stock.
+ * La tabla tiene mucha rotación, por lo que las altas van en batch y las bajas
+ * caducadas se hacen con un único DELETE ... RETURNING por lote.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationPersistenceAdapter implements StockReservationPort {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_reservations (order_id, expires_at) VALUES (?, ?)";
+    private static final String DELETE_SQL =
+            "DELETE FROM stock_reservations WHERE order_id = ? AND expires_at > ?";
+    private static final String DELETE_ALL_SQL =
+            "DELETE FROM stock_reservations WHERE order_id = ANY (?) RETURNING order_id";
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM stock_reservations WHERE order_id IN (" +
+            "SELECT order_id FROM stock_reservations WHERE expires_at <= ? " +
+            "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING order_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void hold(Collection<Long> orderIds, LocalDateTime expiresAt) {
+        log.debug("Holding stock for {} orders until {}", orderIds.size(), expiresAt);
+        Timestamp expires = Timestamp.valueOf(expiresAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, orderIds.stream()
+                .map(orderId -> new Object[]{orderId, expires})
+                .toList());
+    }
+
+    @Override
+    public boolean remove(Long orderId, LocalDateTime now) {
+        return jdbcTemplate.update(DELETE_SQL, orderId, Timestamp.valueOf(now)) > 0;
+    }
+
+    @Override
+    public List<Long> removeAll(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(DELETE_ALL_SQL, Long.class, (Object) orderIds.toArray(Long[]::new));
+    }
+
+    @Override
+    public List<Long> removeExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.queryForList(DELETE_EXPIRED_SQL, Long.class, Timestamp.valueOf(now), limit);
+    }
+}
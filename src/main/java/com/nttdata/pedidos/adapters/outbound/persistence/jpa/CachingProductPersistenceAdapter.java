@@ -0,0 +1,230 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.jpa;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.nttdata.pedidos.application.product.port.in.ProductPage;
+import com.nttdata.pedidos.application.product.port.in.ProductPageCursor;
+import com.nttdata.pedidos.application.product.port.in.ProductSort;
+import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.domain.product.Product;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caché del catálogo delante del adaptador de persistencia de productos.
+ * Guarda productos por ID y la primera página del listado de cada orden, acotadas por tamaño y con TTL.
+ * Las entradas se recargan en segundo plano (refresh-ahead) cuando se leen pasado el
+ * intervalo de refresco, de modo que los productos consultados con frecuencia no llegan a caducar.
+ *
+ * Los guardados actualizan la caché al hacer commit (write-through) y los cambios de stock
+ * invalidan los productos afectados; las primeras páginas solo se invalidan al guardar, así que
+ * el stock que muestran puede ir retrasado hasta un intervalo de refresco. Las páginas siguientes
+ * se leen siempre de la base de datos.
+ *
+ * Las lecturas dentro de una transacción de escritura (actualizar un producto, preparar una
+ * orden) van siempre a la base de datos: trabajan con la versión y el precio vigentes.
+ * Los productos se copian al entrar y salir de la caché porque el dominio es mutable.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "app.products.cache", name = "enabled", havingValue = "true")
+public class CachingProductPersistenceAdapter implements ProductPersistencePort {
+
+    /** Combinaciones de orden y tamaño de página que se guardan; los clientes suelen usar pocas. */
+    private static final int FIRST_PAGES = 64;
+
+    private final ProductPersistenceAdapter delegate;
+    private final LoadingCache<Long, Product> productsById;
+    private final LoadingCache<FirstPageKey, ProductPage> firstPages;
+
+    public CachingProductPersistenceAdapter(ProductPersistenceAdapter delegate,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.products.cache.max-products:50000}") long maxProducts,
+                                            @Value("${app.products.cache.ttl-seconds:600}") long ttlSeconds,
+                                            @Value("${app.products.cache.refresh-seconds:60}") long refreshSeconds) {
+        this.delegate = delegate;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration refresh = Duration.ofSeconds(refreshSeconds);
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Product load(Long id) {
+                        return delegate.findById(id).orElse(null);
+                    }
+
+                    @Override
+                    public Map<Long, Product> loadAll(Set<? extends Long> ids) {
+                        Map<Long, Product> loaded = new LinkedHashMap<>();
+                        delegate.findAllByIdIn(new ArrayList<>(ids)).forEach(product -> loaded.put(product.getId(), product));
+                        return loaded;
+                    }
+                });
+        this.firstPages = Caffeine.newBuilder()
+                .maximumSize(FIRST_PAGES)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(key -> delegate.findActivePage(key.sort(), null, key.size()));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, productsById, "products.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, firstPages, "products.first-page");
+        Gauge.builder("products.cache.hit.ratio", productsById, cache -> cache.stats().hitRate())
+                .tag("cache", "products.by-id")
+                .description("Hit ratio of the product cache since startup")
+                .register(meterRegistry);
+        Gauge.builder("products.cache.hit.ratio", firstPages, cache -> cache.stats().hitRate())
+                .tag("cache", "products.first-page")
+                .description("Hit ratio of the product cache since startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        Product cached = copy(saved);
+        Runnable update = () -> {
+            productsById.put(cached.getId(), copy(cached));
+            firstPages.invalidateAll();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return saved;
+        }
+        productsById.invalidate(saved.getId());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    update.run();
+                } else {
+                    productsById.invalidate(cached.getId());
+                }
+            }
+        });
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (inWriteTransaction()) {
+            return delegate.findById(id);
+        }
+        return Optional.ofNullable(productsById.get(id)).map(CachingProductPersistenceAdapter::copy);
+    }
+
+    @Override
+    public Optional<Long> findActiveVersionById(Long id) {
+        return delegate.findActiveVersionById(id);
+    }
+
+    @Override
+    public ProductPage findActivePage(ProductSort sort, ProductPageCursor after, int size) {
+        if (after != null || inWriteTransaction()) {
+            return delegate.findActivePage(sort, after, size);
+        }
+        ProductPage page = firstPages.get(new FirstPageKey(sort, size));
+        return new ProductPage(copyAll(page.products()), page.nextCursor());
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return delegate.existsByName(name);
+    }
+
+    @Override
+    public List<Product> findAllByIdIn(List<Long> ids) {
+        if (inWriteTransaction()) {
+            return delegate.findAllByIdIn(ids);
+        }
+        return copyAll(productsById.getAll(ids).values().stream()
+                .filter(product -> Boolean.TRUE.equals(product.getActive()))
+                .toList());
+    }
+
+    @Override
+    public List<Long> reserveStock(Map<Long, Integer> quantities) {
+        List<Long> failed = delegate.reserveStock(quantities);
+        invalidate(quantities.keySet());
+        return failed;
+    }
+
+    @Override
+    public List<List<Long>> reserveStockForEach(List<Map<Long, Integer>> quantitiesPerOrder) {
+        List<List<Long>> failed = delegate.reserveStockForEach(quantitiesPerOrder);
+        invalidate(quantitiesPerOrder.stream().flatMap(quantities -> quantities.keySet().stream()).distinct().toList());
+        return failed;
+    }
+
+    @Override
+    public void releaseStock(Map<Long, Integer> quantities) {
+        delegate.releaseStock(quantities);
+        invalidate(quantities.keySet());
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void invalidate(Collection<Long> productIds) {
+        List<Long> ids = List.copyOf(productIds);
+        productsById.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    productsById.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+    private record FirstPageKey(ProductSort sort, int size) {
+    }
+
+    private static List<Product> copyAll(Collection<Product> products) {
+        List<Product> copies = new ArrayList<>(products.size());
+        products.forEach(product -> copies.add(copy(product)));
+        return copies;
+    }
+
+    private static Product copy(Product product) {
+        return Product.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .active(product.getActive())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
+                .build();
+    }
+}
@@ -3,14 +3,26 @@ package com.nttdata.pedidos.adapters.outbound.persistence.jpa;
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.mapper.ProductEntityMapper;
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataProductRepository;
+import com.nttdata.pedidos.adapters.outbound.persistence.ledger.StockLedger;
+import com.nttdata.pedidos.application.product.port.in.ProductPage;
+import com.nttdata.pedidos.application.product.port.in.ProductPageCursor;
+import com.nttdata.pedidos.application.product.port.in.ProductSort;
 import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
 import com.nttdata.pedidos.domain.product.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -25,8 +37,16 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductPersistenceAdapter implements ProductPersistencePort {
 
+    private static final String RESERVE_STOCK_SQL =
+            "UPDATE products SET stock = stock - ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND active = true AND stock >= ?";
+    private static final String RELEASE_STOCK_SQL =
+            "UPDATE products SET stock = stock + ?, version = version + 1, updated_at = ? WHERE id = ?";
+
     private final SpringDataProductRepository productRepository;
     private final ProductEntityMapper productEntityMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final Optional<StockLedger> stockLedger;
 
     /**
      * {@inheritDoc}
@@ -35,7 +55,8 @@ public class ProductPersistenceAdapter implements ProductPersistencePort {
     public Product save(Product product) {
         log.debug("Saving product: {}", product.getName());
         ProductEntity entity = productEntityMapper.toEntity(product);
-        ProductEntity savedEntity = productRepository.save(entity);
+        ProductEntity savedEntity = productRepository.saveAndFlush(entity);
+        stockLedger.ifPresent(ledger -> ledger.resync(savedEntity.getId(), savedEntity.getStock()));
         return productEntityMapper.toDomain(savedEntity);
     }
 
@@ -53,11 +74,38 @@ public class ProductPersistenceAdapter implements ProductPersistencePort {
      * {@inheritDoc}
      */
     @Override
-    public List<Product> findAllActive() {
-        log.debug("Finding all active products");
-        return productRepository.findByActiveTrue().stream()
+    public Optional<Long> findActiveVersionById(Long id) {
+        log.debug("Finding version of product ID: {}", id);
+        return productRepository.findActiveVersionById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ProductPage findActivePage(ProductSort sort, ProductPageCursor after, int size) {
+        log.debug("Finding {} active products sorted by {} after {}", size, sort, after);
+
+        // Se pide un producto de más para saber si existe una página siguiente
+        Limit limit = Limit.of(size + 1);
+        List<ProductEntity> rows = switch (sort) {
+            case NAME -> after == null
+                    ? productRepository.findActiveFirstPageByName(limit)
+                    : productRepository.findActivePageByNameAfter(after.key(), after.productId(), limit);
+            case PRICE -> after == null
+                    ? productRepository.findActiveFirstPageByPrice(limit)
+                    : productRepository.findActivePageByPriceAfter(after.price(), after.productId(), limit);
+            case NEWEST -> after == null
+                    ? productRepository.findActiveFirstPageByNewest(limit)
+                    : productRepository.findActivePageByNewestBefore(after.createdAt(), after.productId(), limit);
+        };
+
+        List<Product> products = rows.stream()
+                .limit(size)
                 .map(productEntityMapper::toDomain)
-                .collect(Collectors.toList());
+                .toList();
+        ProductPageCursor next = rows.size() > size ? ProductPageCursor.after(sort, products.get(size - 1)) : null;
+        return new ProductPage(products, next);
     }
 
     /**
@@ -79,4 +127,124 @@ public class ProductPersistenceAdapter implements ProductPersistencePort {
                 .map(productEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> reserveStock(Map<Long, Integer> quantities) {
+        log.debug("Reserving stock for {} products", quantities.size());
+        if (stockLedger.isPresent()) {
+            return stockLedger.get().reserve(quantities);
+        }
+
+        // Orden ascendente de ID: todas las transacciones bloquean las filas en el mismo orden
+        List<Long> productIds = quantities.keySet().stream().sorted().toList();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = productIds.stream()
+                .map(id -> new Object[]{quantities.get(id), now, id, quantities.get(id)})
+                .toList();
+
+        int[] updateCounts = jdbcTemplate.batchUpdate(RESERVE_STOCK_SQL, batchArgs);
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                failed.add(productIds.get(i));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Sin libro de stock, todas las líneas van en un único batch JDBC. Después se devuelven
+     * las unidades que tomaron las ordenes fallidas y estas se reintentan una a una, todo
+     * o nada, por si fallaron solo por el stock que otra orden fallida retenía.
+     */
+    @Override
+    public List<List<Long>> reserveStockForEach(List<Map<Long, Integer>> quantitiesPerOrder) {
+        log.debug("Reserving stock for {} orders", quantitiesPerOrder.size());
+        if (stockLedger.isPresent()) {
+            return quantitiesPerOrder.stream()
+                    .map(quantities -> stockLedger.get().reserveAllOrNothing(quantities))
+                    .toList();
+        }
+
+        // Una sentencia por (orden, producto), en orden ascendente de ID de producto
+        List<long[]> lines = new ArrayList<>();
+        for (int order = 0; order < quantitiesPerOrder.size(); order++) {
+            for (Map.Entry<Long, Integer> entry : quantitiesPerOrder.get(order).entrySet()) {
+                lines.add(new long[]{entry.getKey(), order, entry.getValue()});
+            }
+        }
+        lines.sort(Comparator.<long[]>comparingLong(line -> line[0]).thenComparingLong(line -> line[1]));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = lines.stream()
+                .map(line -> new Object[]{(int) line[2], now, line[0], (int) line[2]})
+                .toList();
+        int[] updateCounts = jdbcTemplate.batchUpdate(RESERVE_STOCK_SQL, batchArgs);
+
+        List<List<Long>> failed = new ArrayList<>(quantitiesPerOrder.size());
+        quantitiesPerOrder.forEach(quantities -> failed.add(new ArrayList<>()));
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                failed.get((int) lines.get(i)[1]).add(lines.get(i)[0]);
+            }
+        }
+
+        Map<Long, Integer> held = new TreeMap<>();
+        for (int order = 0; order < quantitiesPerOrder.size(); order++) {
+            List<Long> orderFailed = failed.get(order);
+            if (!orderFailed.isEmpty()) {
+                quantitiesPerOrder.get(order).forEach((productId, quantity) -> {
+                    if (!orderFailed.contains(productId)) {
+                        held.merge(productId, quantity, Integer::sum);
+                    }
+                });
+            }
+        }
+        if (held.isEmpty()) {
+            return failed;
+        }
+
+        releaseStock(held);
+        for (int order = 0; order < quantitiesPerOrder.size(); order++) {
+            if (!failed.get(order).isEmpty()) {
+                failed.set(order, reserveAllOrNothing(quantitiesPerOrder.get(order)));
+            }
+        }
+        return failed;
+    }
+
+    private List<Long> reserveAllOrNothing(Map<Long, Integer> quantities) {
+        List<Long> failed = reserveStock(quantities);
+        if (!failed.isEmpty()) {
+            Map<Long, Integer> applied = new TreeMap<>(quantities);
+            failed.forEach(applied::remove);
+            if (!applied.isEmpty()) {
+                releaseStock(applied);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void releaseStock(Map<Long, Integer> quantities) {
+        log.debug("Releasing stock for {} products", quantities.size());
+        if (stockLedger.isPresent()) {
+            stockLedger.get().release(quantities);
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new TreeMap<>(quantities).entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), now, entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(RELEASE_STOCK_SQL, batchArgs);
+    }
 }
\ No newline at end of file
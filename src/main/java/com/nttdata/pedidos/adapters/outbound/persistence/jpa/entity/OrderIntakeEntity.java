@@ -0,0 +1,45 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad JPA de la cola de admisión asíncrona de ordenes.
+ * Cada fila representa una orden aceptada cuyo stock aún no se ha procesado.
+ * {@code enqueuedAt} se renueva en cada reenvío de la recuperación y {@code attempts} los cuenta.
+ */
+@Entity
+@Table(name = "order_intake_queue", indexes = {
+    @Index(name = "idx_order_intake_queue_enqueued_at", columnList = "enqueued_at")
+})
+public class OrderIntakeEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Constructors
+    public OrderIntakeEntity() {}
+
+    public OrderIntakeEntity(Long orderId, LocalDateTime enqueuedAt) {
+        this.orderId = orderId;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    // Getters and Setters
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public LocalDateTime getEnqueuedAt() { return enqueuedAt; }
+    public void setEnqueuedAt(LocalDateTime enqueuedAt) { this.enqueuedAt = enqueuedAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+}
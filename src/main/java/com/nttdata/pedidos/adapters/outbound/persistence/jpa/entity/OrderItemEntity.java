@@ -1,11 +1,12 @@
 package com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity;
 
 import jakarta.persistence.*;
-import org.hibernate.annotations.CreationTimestamp;
+import com.nttdata.pedidos.domain.order.Money;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Entidad JPA para la persistencia de items de orden.
@@ -20,11 +21,12 @@ import java.time.LocalDateTime;
 public class OrderItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private OrderEntity order;
 
     @Column(name = "product_id", nullable = false)
@@ -42,7 +44,6 @@ public class OrderItemEntity {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal subtotal;
 
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -69,11 +70,6 @@ public class OrderItemEntity {
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
         this.version = version;
-        
-        // Ensure subtotal is calculated if not provided
-        if (this.subtotal == null) {
-            calculateSubtotal();
-        }
     }
 
     // Builder
@@ -82,14 +78,28 @@ public class OrderItemEntity {
     }
 
     /**
-     * Calcula el subtotal automáticamente antes de persistir o actualizar.
-     * El subtotal es: unitPrice * quantity
+     * La línea toma la fecha de su orden para caer en la misma partición mensual.
      */
     @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = order != null && order.getCreatedAt() != null
+                    ? order.getCreatedAt()
+                    : LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        }
+        if (subtotal == null) {
+            calculateSubtotal();
+        }
+    }
+
+    /**
+     * Calcula el subtotal: unitPrice * quantity. Al persistir solo si no viene ya
+     * calculado del dominio; al actualizar se recalcula siempre con la cantidad y el precio vigentes.
+     */
     @PreUpdate
     public void calculateSubtotal() {
         if (unitPrice != null && quantity != null && quantity > 0) {
-            this.subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.subtotal = Money.toDecimal(Money.multiply(Money.toCents(unitPrice), quantity));
         }
     }
 
@@ -122,23 +132,12 @@ public class OrderItemEntity {
     public void setProductName(String productName) { this.productName = productName; }
 
     public Integer getQuantity() { return quantity; }
-    public void setQuantity(Integer quantity) { 
-        this.quantity = quantity; 
-        calculateSubtotal(); // Recalculate subtotal when quantity changes
-    }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
 
     public BigDecimal getUnitPrice() { return unitPrice; }
-    public void setUnitPrice(BigDecimal unitPrice) { 
-        this.unitPrice = unitPrice; 
-        calculateSubtotal(); // Recalculate subtotal when unit price changes
-    }
+    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
 
-    public BigDecimal getSubtotal() { 
-        if (subtotal == null) {
-            calculateSubtotal();
-        }
-        return subtotal; 
-    }
+    public BigDecimal getSubtotal() { return subtotal; }
     public void setSubtotal(BigDecimal subtotal) { this.subtotal = subtotal; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -214,15 +213,8 @@ public class OrderItemEntity {
         }
 
         public OrderItemEntity build() {
-            OrderItemEntity entity = new OrderItemEntity(id, order, productId, productName, 
+            return new OrderItemEntity(id, order, productId, productName, 
                     quantity, unitPrice, subtotal, createdAt, updatedAt, version);
-            
-            // Ensure subtotal is calculated
-            if (entity.subtotal == null) {
-                entity.calculateSubtotal();
-            }
-            
-            return entity;
         }
     }
 }
\ No newline at end of file
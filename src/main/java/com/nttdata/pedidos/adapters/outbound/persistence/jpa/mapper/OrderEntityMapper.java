@@ -4,8 +4,10 @@ import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderItemEntity;
 import com.nttdata.pedidos.domain.order.Order;
 import com.nttdata.pedidos.domain.order.OrderItem;
+import com.nttdata.pedidos.domain.order.OrderStatus;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 /**
  * Mapper para convertir entre Product (dominio) y ProductEntity (persistencia).
@@ -20,14 +22,21 @@ public class OrderEntityMapper {
         if (entity == null) {
             return null;
         }
+        return toDomain(entity, entity.getItems());
+    }
 
+    /**
+     * Convierte una orden cuyas líneas se cargaron aparte, sin tocar la colección LAZY.
+     */
+    public Order toDomain(OrderEntity entity, List<OrderItemEntity> items) {
         return Order.builder()
                 .id(entity.getId())
                 .userId(entity.getUserId())
-                .status(entity.getStatus())
+                .status(OrderStatus.valueOf(entity.getStatus()))
                 .totalAmount(entity.getTotalAmount())
                 .createdAt(entity.getCreatedAt())
-                .items(entity.getItems().stream()
+                .version(entity.getVersion())
+                .items(items.stream()
                         .map(this::toDomainItem)
                         .collect(Collectors.toList()))
                 .build();
@@ -41,9 +50,10 @@ public class OrderEntityMapper {
         OrderEntity entity = OrderEntity.builder()
                 .id(domain.getId())
                 .userId(domain.getUserId())
-                .status(domain.getStatus())
+                .status(domain.getStatus().name())
                 .totalAmount(domain.getTotalAmount())
                 .createdAt(domain.getCreatedAt())
+                .version(domain.getVersion())
                 .build();
 
         // Map items and set bidirectional relationship
@@ -0,0 +1,22 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la consulta de detalle: cabecera de la orden repetida por cada línea.
+ * Los campos de la línea son null si la orden no tiene líneas.
+ */
+public record OrderDetailsRow(
+    Long orderId,
+    Long userId,
+    String status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    Long version,
+    Long productId,
+    String productName,
+    Integer quantity,
+    BigDecimal unitPrice,
+    BigDecimal subtotal
+) {}
@@ -0,0 +1,53 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository Spring Data JPA para las claves de idempotencia.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Repository
+public interface SpringDataIdempotencyKeyRepository
+        extends JpaRepository<IdempotencyKeyEntity, IdempotencyKeyEntity.Key> {
+
+    @Query("SELECT k FROM IdempotencyKeyEntity k " +
+           "WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey " +
+           "AND k.orderId IS NOT NULL AND k.expiresAt > :now")
+    Optional<IdempotencyKeyEntity> findCompleted(String idempotencyKey, Long userId, LocalDateTime now);
+
+    /**
+     * Inserta la clave o toma una fila expirada. Un INSERT concurrente sobre la misma clave
+     * queda bloqueado hasta que la otra transacción termina.
+     * 
+     * @return 1 si la clave quedó reservada, 0 si ya pertenece a otra petición vigente
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, order_id, request_hash, created_at, expires_at) " +
+                   "VALUES (:userId, :idempotencyKey, NULL, :requestHash, :now, :expiresAt) " +
+                   "ON CONFLICT (user_id, idempotency_key) DO UPDATE " +
+                   "SET order_id = NULL, request_hash = EXCLUDED.request_hash, " +
+                   "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+                   "WHERE idempotency_keys.expires_at <= EXCLUDED.created_at",
+           nativeQuery = true)
+    int reserve(String idempotencyKey, Long userId, String requestHash, LocalDateTime now, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKeyEntity k SET k.orderId = :orderId " +
+           "WHERE k.userId = :userId AND k.idempotencyKey = :idempotencyKey")
+    int complete(String idempotencyKey, Long userId, Long orderId);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE (user_id, idempotency_key) IN (" +
+                   "SELECT user_id, idempotency_key FROM idempotency_keys WHERE expires_at <= :now LIMIT :limit)",
+           nativeQuery = true)
+    int deleteExpired(LocalDateTime now, int limit);
+}
@@ -0,0 +1,69 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderIntakeEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository Spring Data JPA para la cola de admisión de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Repository
+public interface SpringDataOrderIntakeRepository extends JpaRepository<OrderIntakeEntity, Long> {
+
+    /**
+     * Elimina la entrada de una orden; el número de filas borradas indica si se obtuvo el turno.
+     * 
+     * @param orderId ID de la orden
+     * @return 1 si la entrada existía, 0 si ya fue procesada
+     */
+    @Modifying
+    @Query("DELETE FROM OrderIntakeEntity i WHERE i.orderId = :orderId")
+    int deleteByOrderId(Long orderId);
+
+    /**
+     * Bloquea las entradas existentes de varias ordenes, en orden ascendente de ID.
+     * 
+     * @param orderIds IDs de las ordenes
+     * @return entradas que siguen en la cola
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM OrderIntakeEntity i WHERE i.orderId IN :orderIds ORDER BY i.orderId")
+    List<OrderIntakeEntity> lockByOrderIds(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM OrderIntakeEntity i WHERE i.orderId IN :orderIds")
+    int deleteByOrderIds(Collection<Long> orderIds);
+
+    /**
+     * Obtiene las ordenes encoladas antes de un instante, de la más antigua a la más reciente.
+     * 
+     * @param cutoff instante límite
+     * @param pageable tamaño máximo del lote
+     * @return entradas pendientes
+     */
+    @Query("SELECT i FROM OrderIntakeEntity i WHERE i.enqueuedAt < :cutoff ORDER BY i.enqueuedAt")
+    List<OrderIntakeEntity> findEnqueuedBefore(LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Cuenta un reenvío de varias ordenes y renueva su instante de encolado.
+     * 
+     * @param orderIds IDs de las ordenes reenviadas
+     * @param now instante del reenvío
+     * @return número de entradas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE OrderIntakeEntity i SET i.attempts = i.attempts + 1, i.enqueuedAt = :now WHERE i.orderId IN :orderIds")
+    int recordAttempts(Collection<Long> orderIds, LocalDateTime now);
+}
@@ -1,12 +1,21 @@
 package com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository;
 
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderItemEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 /**
@@ -17,7 +26,51 @@ import java.util.Optional;
  */
 @Repository
 public interface SpringDataOrderRepository extends JpaRepository<OrderEntity, Long> {
-    List<OrderEntity> findByUserId(Long userId);
-    Optional<OrderEntity> findByIdAndUserId(Long id, Long userId);
+
+    /** Filas que el driver trae por viaje al recorrer un cursor. */
+    int STREAM_FETCH_SIZE = 500;
+
+    @Query("SELECT o FROM OrderEntity o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderEntity> findFirstPageByUserId(Long userId, Limit limit);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM OrderEntity o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<OrderEntity> streamByUserId(Long userId);
+
+    @Query("SELECT i FROM OrderItemEntity i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemEntity> findItemsByOrderIds(Collection<Long> orderIds);
+
+    @Query("SELECT o FROM OrderEntity o WHERE o.userId = :userId " +
+           "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderEntity> findPageByUserIdBefore(Long userId, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("SELECT new com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.OrderDetailsRow(" +
+           "o.id, o.userId, o.status, o.totalAmount, o.createdAt, o.version, " +
+           "i.productId, i.productName, i.quantity, i.unitPrice, i.subtotal) " +
+           "FROM OrderEntity o LEFT JOIN o.items i WHERE o.id = :id AND o.userId = :userId ORDER BY i.id")
+    List<OrderDetailsRow> findDetailsByIdAndUserId(Long id, Long userId);
+
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT o.version FROM OrderEntity o WHERE o.id = :id AND o.userId = :userId")
+    Optional<Long> findVersionByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT DISTINCT o.userId FROM OrderEntity o WHERE o.id IN :ids")
+    List<Long> findUserIds(Collection<Long> ids);
+
+    @Query("SELECT o.id, o.status FROM OrderEntity o WHERE o.id IN :ids")
+    List<Object[]> findStatuses(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.status = :newStatus, o.updatedAt = :now, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status = :expectedStatus")
+    int transitionStatus(Collection<Long> ids, String expectedStatus, String newStatus, LocalDateTime now);
+
+    @Query("SELECT i.productId, SUM(i.quantity) FROM OrderItemEntity i " +
+           "WHERE i.order.id IN :orderIds GROUP BY i.productId")
+    List<Object[]> sumQuantitiesByProduct(Collection<Long> orderIds);
 }
@@ -1,10 +1,13 @@
 package com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository;
 
 import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,11 +37,71 @@ public interface SpringDataProductRepository extends JpaRepository<ProductEntity
     boolean existsByNameIgnoreCase(String name);
 
     /**
-     * Encuentra todos los productos activos.
+     * Primera página de productos activos por nombre. Recorre el índice parcial (name, id).
      * 
-     * @return lista de productos activos
+     * @param limit número máximo de productos
+     * @return productos activos ordenados por nombre e ID
      */
-    List<ProductEntity> findByActiveTrue();
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true ORDER BY p.name, p.id")
+    List<ProductEntity> findActiveFirstPageByName(Limit limit);
+
+    /**
+     * Página siguiente por nombre. El predicado se escribe como
+     * {@code name >= :name AND (name > :name OR id > :id)} para que la primera
+     * condición acote el rango del índice.
+     * 
+     * @param name nombre del último producto de la página anterior
+     * @param id ID del último producto de la página anterior
+     * @param limit número máximo de productos
+     * @return productos activos posteriores a la posición indicada
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true " +
+           "AND p.name >= :name AND (p.name > :name OR p.id > :id) ORDER BY p.name, p.id")
+    List<ProductEntity> findActivePageByNameAfter(String name, Long id, Limit limit);
+
+    /**
+     * Primera página de productos activos por precio. Recorre el índice parcial (price, id).
+     * 
+     * @param limit número máximo de productos
+     * @return productos activos ordenados por precio e ID
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true ORDER BY p.price, p.id")
+    List<ProductEntity> findActiveFirstPageByPrice(Limit limit);
+
+    /**
+     * Página siguiente por precio, con el mismo predicado de keyset que por nombre.
+     * 
+     * @param price precio del último producto de la página anterior
+     * @param id ID del último producto de la página anterior
+     * @param limit número máximo de productos
+     * @return productos activos posteriores a la posición indicada
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true " +
+           "AND p.price >= :price AND (p.price > :price OR p.id > :id) ORDER BY p.price, p.id")
+    List<ProductEntity> findActivePageByPriceAfter(BigDecimal price, Long id, Limit limit);
+
+    /**
+     * Primera página de productos activos, los más recientes primero.
+     * Recorre el índice parcial (created_at, id) hacia atrás.
+     * 
+     * @param limit número máximo de productos
+     * @return productos activos ordenados por fecha de creación e ID descendentes
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductEntity> findActiveFirstPageByNewest(Limit limit);
+
+    /**
+     * Página siguiente de los más recientes, con el predicado de keyset invertido.
+     * 
+     * @param createdAt fecha de creación del último producto de la página anterior
+     * @param id ID del último producto de la página anterior
+     * @param limit número máximo de productos
+     * @return productos activos anteriores a la posición indicada
+     */
+    @Query("SELECT p FROM ProductEntity p WHERE p.active = true " +
+           "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductEntity> findActivePageByNewestBefore(LocalDateTime createdAt, Long id, Limit limit);
 
     /**
      * Encuentra productos por IDs y que estén activos.
@@ -48,4 +111,13 @@ public interface SpringDataProductRepository extends JpaRepository<ProductEntity
      */
     @Query("SELECT p FROM ProductEntity p WHERE p.id IN :ids AND p.active = true")
     List<ProductEntity> findActiveByIdIn(List<Long> ids);
+
+    /**
+     * Obtiene la versión de un producto activo sin cargar la entidad.
+     * 
+     * @param id ID del producto
+     * @return Optional con la versión si el producto existe y está activo
+     */
+    @Query("SELECT p.version FROM ProductEntity p WHERE p.id = :id AND p.active = true")
+    Optional<Long> findActiveVersionById(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.ledger;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Libro de stock en memoria, autoritativo para las reservas del nodo que lo posee.
+ * Mantiene la cantidad disponible por producto en contadores CAS sin bloqueos,
+ * repartidos en franjas (stripes) según el ID del producto.
+ *
+ * Las reservas se confirman en el libro al hacer commit de la transacción que las
+ * originó y quedan como deltas pendientes que {@link StockLedgerWriteBehind} vuelca
+ * periódicamente a la base de datos. Si la transacción revierte, las unidades se devuelven.
+ * Cada volcado incrementa la versión de los productos afectados, así que las actualizaciones
+ * de productos desde administración se reintentan cuando chocan con uno.
+ *
+ * El libro asume un único nodo: cada instancia tiene su propia copia del stock y nada impide
+ * que dos instancias con el libro activo vendan las mismas unidades. Con varias réplicas
+ * debe quedar desactivado ({@code app.stock-ledger.enabled=false}).
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.stock-ledger", name = "enabled", havingValue = "true")
+public class StockLedger {
+
+    private final SpringDataProductRepository productRepository;
+    private final ConcurrentHashMap<Long, Slot>[] stripes;
+    private final int stripeMask;
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public StockLedger(SpringDataProductRepository productRepository,
+                       @Value("${app.stock-ledger.stripes:16}") int stripeCount) {
+        this.productRepository = productRepository;
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.stripeMask = size - 1;
+    }
+
+    /**
+     * Descuenta unidades del libro. Los productos se procesan en orden ascendente de ID.
+     * Las líneas aplicadas quedan pendientes hasta el commit de la transacción actual.
+     *
+     * @param quantities mapa de ID de producto a cantidad a descontar
+     * @return IDs de los productos sin stock suficiente (o desconocidos)
+     */
+    public List<Long> reserve(Map<Long, Integer> quantities) {
+        return take(quantities, false);
+    }
+
+    /**
+     * Igual que {@link #reserve(Map)}, pero todo o nada: si alguna línea no tiene stock,
+     * las unidades ya tomadas vuelven al instante al libro y no se descuenta ninguna.
+     *
+     * @param quantities mapa de ID de producto a cantidad a descontar
+     * @return IDs de los productos sin stock suficiente (o desconocidos)
+     */
+    public List<Long> reserveAllOrNothing(Map<Long, Integer> quantities) {
+        return take(quantities, true);
+    }
+
+    private List<Long> take(Map<Long, Integer> quantities, boolean allOrNothing) {
+        List<Long> failed = new ArrayList<>();
+        Map<Slot, Integer> applied = new LinkedHashMap<>();
+
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            Slot slot = slotFor(productId, true);
+            if (slot != null && slot.tryTake(quantity)) {
+                slot.inflight.addAndGet(quantity);
+                applied.put(slot, quantity);
+            } else {
+                failed.add(productId);
+            }
+        });
+
+        if (allOrNothing && !failed.isEmpty()) {
+            applied.forEach((slot, quantity) -> {
+                slot.available.addAndGet(quantity);
+                slot.inflight.addAndGet(-quantity);
+            });
+            return failed;
+        }
+
+        afterCompletion(applied, (slot, quantity) -> {
+            slot.addPending(quantity);
+            slot.inflight.addAndGet(-quantity);
+        }, (slot, quantity) -> {
+            slot.available.addAndGet(quantity);
+            slot.inflight.addAndGet(-quantity);
+        });
+        return failed;
+    }
+
+    /**
+     * Devuelve unidades al libro; el incremento se vuelca a la base de datos tras el commit.
+     *
+     * @param quantities mapa de ID de producto a cantidad a devolver
+     */
+    public void release(Map<Long, Integer> quantities) {
+        Map<Slot, Integer> applied = new LinkedHashMap<>();
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            Slot slot = slotFor(productId, false);
+            if (slot != null) {
+                applied.put(slot, quantity);
+            } else {
+                log.warn("Cannot release stock for unknown product ID: {}", productId);
+            }
+        });
+
+        afterCompletion(applied, (slot, quantity) -> {
+            slot.available.addAndGet(quantity);
+            slot.addPending(-quantity);
+        }, (slot, quantity) -> { });
+    }
+
+    /**
+     * Reemplaza el valor del libro tras una escritura absoluta del stock en base de datos,
+     * descontando lo que aún no se ha volcado. Se aplica al hacer commit.
+     */
+    public void resync(Long productId, int databaseStock) {
+        Runnable apply = () -> {
+            Slot slot = stripe(productId).computeIfAbsent(productId, id -> new Slot(id, databaseStock));
+            slot.available.set(databaseStock - slot.pending.get() - slot.inflight.get());
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    /**
+     * Carga el valor disponible de un producto si aún no está en el libro.
+     */
+    void load(Long productId, int stock) {
+        stripe(productId).putIfAbsent(productId, new Slot(productId, stock));
+    }
+
+    Slot find(Long productId) {
+        return stripe(productId).get(productId);
+    }
+
+    ConcurrentHashMap<Long, Slot>[] stripes() {
+        return stripes;
+    }
+
+    long oldestPendingAt() {
+        return oldestPendingAt.get();
+    }
+
+    long markFlushed() {
+        return oldestPendingAt.getAndSet(0);
+    }
+
+    void restoreOldestPending(long since) {
+        if (since != 0) {
+            oldestPendingAt.accumulateAndGet(since, (current, restored) -> current == 0 ? restored : Math.min(current, restored));
+        }
+    }
+
+    long pendingUnits() {
+        long total = 0;
+        for (ConcurrentHashMap<Long, Slot> stripe : stripes) {
+            for (Slot slot : stripe.values()) {
+                total += Math.abs(slot.pending.get());
+            }
+        }
+        return total;
+    }
+
+    private Slot slotFor(Long productId, boolean activeOnly) {
+        ConcurrentHashMap<Long, Slot> stripe = stripe(productId);
+        Slot slot = stripe.get(productId);
+        if (slot != null) {
+            return slot;
+        }
+        return productRepository.findById(productId)
+                .filter(entity -> !activeOnly || Boolean.TRUE.equals(entity.getActive()))
+                .map(ProductEntity::getStock)
+                .map(stock -> stripe.computeIfAbsent(productId, id -> new Slot(id, stock)))
+                .orElse(null);
+    }
+
+    private ConcurrentHashMap<Long, Slot> stripe(Long productId) {
+        long h = productId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 32) & stripeMask];
+    }
+
+    private void afterCompletion(Map<Slot, Integer> applied,
+                                 BiConsumer<Slot, Integer> onCommit,
+                                 BiConsumer<Slot, Integer> onRollback) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applied.forEach(onCommit);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                applied.forEach(status == STATUS_COMMITTED ? onCommit : onRollback);
+            }
+        });
+    }
+
+    /**
+     * Estado de un producto dentro del libro.
+     * {@code pending} son unidades a descontar en base de datos (negativas si hay que sumar),
+     * {@code inflight} son unidades tomadas por transacciones aún no finalizadas.
+     */
+    final class Slot {
+        final Long productId;
+        final AtomicInteger available;
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicInteger inflight = new AtomicInteger();
+        volatile int lastDrift;
+
+        Slot(Long productId, int available) {
+            this.productId = productId;
+            this.available = new AtomicInteger(available);
+        }
+
+        boolean tryTake(int quantity) {
+            for (;;) {
+                int current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        void addPending(int quantity) {
+            pending.addAndGet(quantity);
+            oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+}
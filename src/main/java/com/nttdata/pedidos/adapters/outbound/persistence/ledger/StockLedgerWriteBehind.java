@@ -0,0 +1,185 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.ledger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tareas de fondo del libro de stock: precarga al arrancar, volcado periódico
+ * de los deltas pendientes en batches JDBC y reconciliación contra la base de datos.
+ * Publica métricas de retraso de volcado y correcciones aplicadas.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.stock-ledger", name = "enabled", havingValue = "true")
+public class StockLedgerWriteBehind {
+
+    private static final String ACTIVE_STOCK_SQL = "SELECT id, stock FROM products WHERE active = true";
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE products SET stock = stock - ?, version = version + 1, updated_at = ? WHERE id = ?";
+
+    private final StockLedger stockLedger;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ReentrantLock maintenanceLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter flushFailures;
+    private final Counter corrections;
+
+    public StockLedgerWriteBehind(StockLedger stockLedger,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.stock-ledger.flush-batch-size:500}") int batchSize) {
+        this.stockLedger = stockLedger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        Gauge.builder("stock.ledger.flush.lag", stockLedger, ledger -> {
+                    long since = ledger.oldestPendingAt();
+                    return since == 0 ? 0 : (System.currentTimeMillis() - since) / 1000.0;
+                })
+                .baseUnit("seconds")
+                .description("Age of the oldest stock change not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("stock.ledger.pending.units", stockLedger, StockLedger::pendingUnits)
+                .description("Stock units changed in memory and not yet written to the database")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("stock.ledger.flush")
+                .description("Duration of write-behind flushes")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("stock.ledger.flush.failures")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("stock.ledger.reconcile.corrections")
+                .description("Ledger counters corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Precarga el stock de todos los productos activos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        AtomicInteger loaded = new AtomicInteger();
+        jdbcTemplate.query(ACTIVE_STOCK_SQL, rs -> {
+            stockLedger.load(rs.getLong("id"), rs.getInt("stock"));
+            loaded.incrementAndGet();
+        });
+        log.info("Stock ledger warmed up with {} products", loaded.get());
+    }
+
+    /**
+     * Vuelca a la base de datos los deltas confirmados desde el último volcado.
+     */
+    @Scheduled(fixedDelayString = "${app.stock-ledger.flush-interval-ms:200}")
+    public void flush() {
+        maintenanceLock.lock();
+        try {
+            flushTimer.record(this::flushPending);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    /**
+     * Compara el libro con la base de datos y corrige los contadores cuya desviación
+     * se repite en dos pasadas consecutivas (las desviaciones puntuales se deben a
+     * transacciones en curso).
+     */
+    @Scheduled(fixedDelayString = "${app.stock-ledger.reconcile-interval-ms:60000}",
+               initialDelayString = "${app.stock-ledger.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        maintenanceLock.lock();
+        try {
+            flushPending();
+            jdbcTemplate.query(ACTIVE_STOCK_SQL, rs -> {
+                long productId = rs.getLong("id");
+                int databaseStock = rs.getInt("stock");
+                StockLedger.Slot slot = stockLedger.find(productId);
+                if (slot == null) {
+                    stockLedger.load(productId, databaseStock);
+                    return;
+                }
+
+                int available = slot.available.get();
+                int expected = databaseStock - slot.pending.get() - slot.inflight.get();
+                int drift = expected - available;
+                if (drift != 0 && drift == slot.lastDrift) {
+                    slot.available.addAndGet(drift);
+                    corrections.increment();
+                    log.warn("Stock ledger drift corrected for product ID: {} by {}", productId, drift);
+                    slot.lastDrift = 0;
+                } else {
+                    slot.lastDrift = drift;
+                }
+            });
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        long pendingSince = stockLedger.markFlushed();
+        Map<StockLedger.Slot, Integer> drained = new LinkedHashMap<>();
+        for (ConcurrentHashMap<Long, StockLedger.Slot> stripe : stockLedger.stripes()) {
+            for (StockLedger.Slot slot : stripe.values()) {
+                int delta = slot.pending.getAndSet(0);
+                if (delta != 0) {
+                    drained.put(slot, delta);
+                }
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(drained.size());
+        // Mismo orden ascendente de ID que las reservas para no provocar deadlocks con ellas
+        drained.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.comparing((StockLedger.Slot slot) -> slot.productId)))
+                .forEach(entry -> batchArgs.add(new Object[]{entry.getValue(), now, entry.getKey().productId}));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < batchArgs.size(); from += batchSize) {
+                    jdbcTemplate.batchUpdate(APPLY_DELTA_SQL,
+                            batchArgs.subList(from, Math.min(from + batchSize, batchArgs.size())));
+                }
+            });
+            log.debug("Flushed stock ledger deltas for {} products", drained.size());
+        } catch (RuntimeException ex) {
+            drained.forEach(StockLedger.Slot::addPending);
+            stockLedger.restoreOldestPending(pendingSince);
+            flushFailures.increment();
+            log.error("Stock ledger flush failed, {} deltas kept for retry: {}", drained.size(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.partition;
+
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
+import com.nttdata.pedidos.domain.order.OrderItem;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lectura de ordenes ya archivadas en el esquema {@code orders_archive}.
+ * Solo se consulta cuando la orden no está en las particiones activas.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OrderArchiveReader {
+
+    private static final String SELECT_SQL =
+            "SELECT o.id, o.user_id, o.status, o.total_amount, o.created_at, o.version, " +
+            "i.product_id, i.product_name, i.quantity, i.unit_price, i.subtotal " +
+            "FROM orders_archive.orders o " +
+            "LEFT JOIN orders_archive.order_items i ON i.order_id = o.id AND i.created_at = o.created_at " +
+            "WHERE o.id = ? ";
+    private static final String FIND_BY_ID_SQL = SELECT_SQL + "ORDER BY i.id";
+    private static final String FIND_BY_ID_AND_USER_SQL = SELECT_SQL + "AND o.user_id = ? ORDER BY i.id";
+    private static final String FIND_VERSION_SQL =
+            "SELECT version FROM orders_archive.orders WHERE id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    public OrderArchiveReader(JdbcTemplate jdbcTemplate,
+                              @Value("${app.orders.partitions.archive-lookup-enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    public Optional<Order> findById(Long orderId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        log.debug("Looking up order ID: {} in the archive", orderId);
+        return query(FIND_BY_ID_SQL, orderId);
+    }
+
+    /**
+     * Igual que la consulta de detalle sobre las tablas activas: la comprobación de
+     * propiedad va en la propia consulta.
+     */
+    public Optional<OrderDetails> findDetailsByIdAndUserId(Long orderId, Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        log.debug("Looking up details of order ID: {} in the archive", orderId);
+        return query(FIND_BY_ID_AND_USER_SQL, orderId, userId)
+                .map(order -> new OrderDetails(order.getId(), order.getUserId(), order.getStatus(),
+                        order.getTotalAmount(), order.getCreatedAt(), order.getVersion(), order.getItems().stream()
+                                .map(item -> new OrderDetails.Line(item.getProductId(), item.getProductName(),
+                                        item.getQuantity(), item.getUnitPrice(), item.getSubtotal()))
+                                .toList()));
+    }
+
+    public Optional<Long> findVersionByIdAndUserId(Long orderId, Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.queryForList(FIND_VERSION_SQL, Long.class, orderId, userId).stream().findFirst();
+    }
+
+    private Optional<Order> query(String sql, Object... args) {
+        List<Order> found = new ArrayList<>(1);
+        jdbcTemplate.query(sql, rs -> {
+            if (found.isEmpty()) {
+                found.add(Order.builder()
+                        .id(rs.getLong("id"))
+                        .userId(rs.getLong("user_id"))
+                        .status(OrderStatus.valueOf(rs.getString("status")))
+                        .totalAmount(rs.getBigDecimal("total_amount"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .version(rs.getLong("version"))
+                        .items(new ArrayList<>())
+                        .build());
+            }
+            if (hasLine(rs)) {
+                found.get(0).getItems().add(OrderItem.builder()
+                        .productId(rs.getLong("product_id"))
+                        .productName(rs.getString("product_name"))
+                        .quantity(rs.getInt("quantity"))
+                        .unitPrice(rs.getBigDecimal("unit_price"))
+                        .subtotal(rs.getBigDecimal("subtotal"))
+                        .build());
+            }
+        }, args);
+        return found.stream().findFirst();
+    }
+
+    private static boolean hasLine(ResultSet rs) throws SQLException {
+        rs.getLong("product_id");
+        return !rs.wasNull();
+    }
+}
@@ -0,0 +1,118 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Mantenimiento de las particiones mensuales de {@code orders} y {@code order_items}.
+ * Crea por adelantado las particiones de los próximos meses y mueve las que superan
+ * la retención al esquema {@code orders_archive}, de modo que las consultas de ordenes
+ * recientes solo recorren particiones pequeñas.
+ *
+ * Archivar es un cambio de metadatos (DETACH + SET SCHEMA + ATTACH), sin copiar filas.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.orders.partitions", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OrderPartitionMaintenance {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String CREATE_PARTITIONS_SQL = "SELECT create_order_partitions(?, ?)";
+    private static final String HOT_MONTHS_SQL =
+            "SELECT substring(c.relname FROM 9) FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'public.orders'::regclass AND c.relname ~ '^orders_p[0-9]{6}$' " +
+            "ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public OrderPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.orders.partitions.months-ahead:3}") int monthsAhead,
+                                     @Value("${app.orders.partitions.retention-months:12}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Crea las particiones que falten y archiva las que hayan salido de la retención.
+     * Una retención de 0 meses desactiva el archivado.
+     */
+    @Scheduled(cron = "${app.orders.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        try {
+            jdbcTemplate.query(CREATE_PARTITIONS_SQL, rs -> { },
+                    Date.valueOf(current.atDay(1)), monthsAhead + 1);
+        } catch (RuntimeException ex) {
+            log.error("Could not create order partitions: {}", ex.getMessage());
+            return;
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestHot = current.minusMonths(retentionMonths);
+        List<String> months = jdbcTemplate.queryForList(HOT_MONTHS_SQL, String.class);
+        for (String suffix : months) {
+            YearMonth month = YearMonth.parse(suffix, SUFFIX);
+            if (month.isBefore(oldestHot)) {
+                try {
+                    archive(month);
+                } catch (RuntimeException ex) {
+                    log.error("Could not archive order partition {}: {}", suffix, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Mueve un mes de ordenes y sus líneas al archivo en una sola transacción, para que
+     * una orden nunca quede activa mientras sus líneas ya están archivadas.
+     */
+    private void archive(YearMonth month) {
+        String suffix = month.format(SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            moveToArchive("orders", "orders_p" + suffix, from, to);
+            moveToArchive("order_items", "order_items_p" + suffix, from, to);
+        });
+        log.info("Archived order partitions for {}", month);
+    }
+
+    private void moveToArchive(String parent, String partition, LocalDate from, LocalDate to) {
+        jdbcTemplate.execute("ALTER TABLE public." + parent + " DETACH PARTITION public." + partition);
+        jdbcTemplate.execute("ALTER TABLE public." + partition + " SET SCHEMA orders_archive");
+        jdbcTemplate.execute("ALTER TABLE orders_archive." + parent + " ATTACH PARTITION orders_archive." + partition +
+                " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+    }
+}
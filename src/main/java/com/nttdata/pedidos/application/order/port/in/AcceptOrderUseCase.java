@@ -0,0 +1,22 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.Order;
+
+/**
+ * Puerto de entrada para la admisión asíncrona de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface AcceptOrderUseCase {
+
+    /**
+     * Valida y encola una orden de forma durable. El stock se procesa después y la orden
+     * pasa de PENDING a CONFIRMED o REJECTED.
+     * 
+     * @param command comando de creación
+     * @return la orden aceptada, en estado PENDING
+     * @throws IllegalArgumentException si el comando no es válido
+     */
+    Order acceptOrder(CreateOrderCommand command);
+}
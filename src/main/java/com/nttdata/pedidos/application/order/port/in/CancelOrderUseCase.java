@@ -0,0 +1,35 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.Order;
+
+import java.util.Collection;
+
+/**
+ * Puerto de entrada para cancelar ordenes y devolver su stock.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface CancelOrderUseCase {
+
+    /**
+     * Cancela una orden pendiente o confirmada del usuario.
+     * 
+     * @param orderId ID de la orden
+     * @param userId ID del usuario propietario
+     * @return la orden en estado CANCELLED
+     * @throws com.nttdata.pedidos.domain.exception.OrderNotFoundException si la orden no existe
+     * @throws com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException si la orden ya no se puede cancelar
+     * @throws com.nttdata.pedidos.domain.exception.ReservationExpiredException si la reserva ya caducó
+     */
+    Order cancelOrder(Long orderId, Long userId);
+
+    /**
+     * Cancela en bloque las ordenes indicadas que sigan pendientes o confirmadas.
+     * Las demás se omiten.
+     * 
+     * @param orderIds IDs de las ordenes
+     * @return número de ordenes canceladas
+     */
+    int cancelOrders(Collection<Long> orderIds);
+}
@@ -7,7 +7,10 @@ package com.nttdata.pedidos.application.order.port.in;
  * @author Jhan Robert Velez
  * @version 1.0
  */
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public record CreateOrderCommand(
     Long userId,
@@ -19,4 +22,14 @@ public record CreateOrderCommand(
                !items.isEmpty() &&
                items.stream().allMatch(OrderItemCommand::isValid);
     }
+
+    /**
+     * Agrupa las líneas por producto sumando las cantidades de los IDs repetidos,
+     * conservando el orden de aparición.
+     */
+    public Map<Long, Integer> quantitiesByProduct() {
+        return items.stream()
+                .collect(Collectors.toMap(OrderItemCommand::productId, OrderItemCommand::quantity,
+                        Integer::sum, LinkedHashMap::new));
+    }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.nttdata.pedidos.application.order.port.in;
 import com.nttdata.pedidos.domain.order.Order;
 
+import java.util.List;
+
 /**
  * Command object para la creación de ordenes.
  * Utiliza Bean Validation para validaciones de entrada.
@@ -10,4 +12,13 @@ import com.nttdata.pedidos.domain.order.Order;
  */
 public interface CreateOrderUseCase {
     Order createOrder(CreateOrderCommand command);
-}
\ No newline at end of file
+
+    /**
+     * Crea varias ordenes con una consulta de productos, un batch de stock y una inserción
+     * conjunta. Una orden rechazada no impide crear las demás.
+     * 
+     * @param commands comandos de creación
+     * @return un resultado por comando, en el mismo orden
+     */
+    List<OrderBatchResult> createOrders(List<CreateOrderCommand> commands);
+}
@@ -0,0 +1,19 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+/**
+ * Puerto de entrada para los listados de ordenes servidos desde el modelo de lectura.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface GetOrderSummariesUseCase {
+
+    /**
+     * Obtiene una página de resúmenes de ordenes del usuario.
+     * 
+     * @param userId ID del usuario
+     * @param after cursor de la página anterior, o null para la primera
+     * @param size tamaño de la página
+     */
+    OrderSummaryPage getOrderSummaries(Long userId, OrderPageCursor after, int size);
+}
@@ -1,10 +1,42 @@
 package com.nttdata.pedidos.application.order.port.in;
 
 import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GetOrderUseCase {
-    Order getOrderById(Long orderId, Long userId);
-    List<Order> getOrdersByUser(Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Obtiene el detalle de una orden del usuario.
+     * 
+     * @throws com.nttdata.pedidos.domain.exception.OrderNotFoundException si no existe o pertenece a otro usuario
+     */
+    OrderDetails getOrderById(Long orderId, Long userId);
+
+    /**
+     * Obtiene la versión actual de una orden del usuario sin cargarla, para peticiones condicionales.
+     * 
+     * @return la versión, o vacío si no existe o pertenece a otro usuario
+     */
+    Optional<Long> getOrderVersion(Long orderId, Long userId);
+
+    /**
+     * Obtiene una página del historial de ordenes del usuario, de la más reciente a la más antigua.
+     * 
+     * @param userId ID del usuario
+     * @param after cursor de la página anterior, o null para la primera
+     * @param size tamaño de la página
+     */
+    OrderPage getOrdersByUser(Long userId, OrderPageCursor after, int size);
+
+    /**
+     * Recorre el historial completo del usuario, de la más reciente a la más antigua,
+     * entregando las ordenes una a una sin acumularlas.
+     * 
+     * @param userId ID del usuario
+     * @param consumer receptor de cada orden
+     */
+    void exportOrdersByUser(Long userId, Consumer<Order> consumer);
+}
@@ -0,0 +1,21 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+/**
+ * Puerto de entrada para la creación de ordenes protegida por una clave de idempotencia.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface IdempotentCreateOrderUseCase {
+
+    /**
+     * Crea una orden una única vez por clave y usuario. Los reintentos con la misma
+     * clave devuelven la orden original sin volver a reservar stock.
+     * 
+     * @param idempotencyKey clave enviada por el cliente
+     * @param command comando de creación
+     * @return la orden y si se trata de una repetición
+     * @throws IllegalArgumentException si la clave o el comando no son válidos
+     */
+    IdempotentOrderResult createOrder(String idempotencyKey, CreateOrderCommand command);
+}
@@ -0,0 +1,13 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.Order;
+
+/**
+ * Resultado de una creación de orden con clave de idempotencia.
+ * 
+ * @param order la orden creada o la registrada previamente con la misma clave
+ * @param replayed true si la orden ya existía y no se volvió a crear
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record IdempotentOrderResult(Order order, boolean replayed) {}
@@ -0,0 +1,27 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.Order;
+
+/**
+ * Resultado de una orden dentro de una creación en lote.
+ * Exactamente uno de los dos campos tiene valor.
+ * 
+ * @param order la orden creada, si tuvo éxito
+ * @param error el motivo del rechazo, si falló
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record OrderBatchResult(Order order, RuntimeException error) {
+
+    public static OrderBatchResult success(Order order) {
+        return new OrderBatchResult(order, null);
+    }
+
+    public static OrderBatchResult failure(RuntimeException error) {
+        return new OrderBatchResult(null, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.Order;
+
+import java.util.List;
+
+/**
+ * Página del historial de ordenes de un usuario, de la más reciente a la más antigua.
+ * 
+ * @param orders ordenes de la página
+ * @param nextCursor posición para pedir la página siguiente, o null si no hay más
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record OrderPage(List<Order> orders, OrderPageCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de la última orden devuelta en una página del historial.
+ * Se expone al cliente como un token opaco.
+ * 
+ * @param createdAt fecha de creación de la última orden de la página
+ * @param orderId ID de la última orden de la página
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record OrderPageCursor(LocalDateTime createdAt, Long orderId) {
+
+    public String encode() {
+        String raw = createdAt + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token no es un cursor válido
+     */
+    public static OrderPageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new OrderPageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid page cursor", ex);
+        }
+    }
+}
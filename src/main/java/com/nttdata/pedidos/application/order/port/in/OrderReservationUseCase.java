@@ -0,0 +1,34 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.Order;
+
+/**
+ * Puerto de entrada para confirmar o liberar el stock retenido por una orden.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface OrderReservationUseCase {
+
+    /**
+     * Convierte la reserva de la orden en un descuento definitivo (pago confirmado).
+     * 
+     * @param orderId ID de la orden
+     * @param userId ID del usuario propietario
+     * @return la orden en estado CONFIRMED
+     * @throws com.nttdata.pedidos.domain.exception.OrderNotFoundException si la orden no existe
+     * @throws com.nttdata.pedidos.domain.exception.ReservationExpiredException si la reserva ya caducó
+     */
+    Order confirmOrder(Long orderId, Long userId);
+
+    /**
+     * Libera el stock retenido por una orden pendiente y la cancela.
+     * 
+     * @param orderId ID de la orden
+     * @param userId ID del usuario propietario
+     * @return la orden en estado CANCELLED
+     * @throws com.nttdata.pedidos.domain.exception.OrderNotFoundException si la orden no existe
+     * @throws com.nttdata.pedidos.domain.exception.ReservationExpiredException si la reserva ya caducó
+     */
+    Order releaseOrder(Long orderId, Long userId);
+}
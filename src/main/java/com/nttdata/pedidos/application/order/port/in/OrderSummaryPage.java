@@ -0,0 +1,20 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.OrderSummary;
+
+import java.util.List;
+
+/**
+ * Página de resúmenes de ordenes de un usuario, de la más reciente a la más antigua.
+ * 
+ * @param summaries resúmenes de la página
+ * @param nextCursor posición para pedir la página siguiente, o null si no hay más
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record OrderSummaryPage(List<OrderSummary> summaries, OrderPageCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
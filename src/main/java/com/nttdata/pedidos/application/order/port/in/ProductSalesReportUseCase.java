@@ -0,0 +1,31 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.ProductSales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Puerto de entrada para los informes de ventas por producto.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface ProductSalesReportUseCase {
+
+    /**
+     * Obtiene las ventas diarias por producto en el rango [from, to).
+     * 
+     * @param from primer día incluido
+     * @param to primer día excluido
+     * @param productId producto a consultar, o null para todos
+     */
+    List<ProductSales> getProductSales(LocalDate from, LocalDate to, Long productId);
+
+    /**
+     * Recalcula los acumulados del rango [from, to) a partir de las ordenes, un día por transacción.
+     * 
+     * @return número de buckets producto/día escritos
+     */
+    int rebuildProductSales(LocalDate from, LocalDate to);
+}
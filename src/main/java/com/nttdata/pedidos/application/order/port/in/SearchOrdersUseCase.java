@@ -0,0 +1,21 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.OrderSearchCriteria;
+
+/**
+ * Puerto de entrada para la búsqueda de ordenes del back-office.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface SearchOrdersUseCase {
+
+    /**
+     * Busca ordenes de cualquier usuario, de la más reciente a la más antigua.
+     * 
+     * @param criteria filtros de la búsqueda
+     * @param after cursor de la página anterior, o null para la primera
+     * @param size tamaño de la página
+     */
+    OrderPage searchOrders(OrderSearchCriteria criteria, OrderPageCursor after, int size);
+}
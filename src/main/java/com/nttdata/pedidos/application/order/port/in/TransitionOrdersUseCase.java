@@ -0,0 +1,26 @@
+package com.nttdata.pedidos.application.order.port.in;
+
+import com.nttdata.pedidos.domain.order.OrderStatus;
+
+import java.util.Collection;
+
+/**
+ * Puerto de entrada para mover ordenes de estado en bloque (operaciones de logística).
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface TransitionOrdersUseCase {
+
+    /**
+     * Mueve al estado destino las ordenes indicadas que sigan en el estado esperado.
+     * Las que estén en otro estado se omiten.
+     * 
+     * @param orderIds IDs de las ordenes
+     * @param expectedStatus estado actual esperado
+     * @param newStatus estado destino
+     * @return número de ordenes actualizadas
+     * @throws com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException si la transición no está permitida
+     */
+    int transitionOrders(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus);
+}
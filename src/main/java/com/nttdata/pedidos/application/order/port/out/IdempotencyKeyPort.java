@@ -0,0 +1,56 @@
+package com.nttdata.pedidos.application.order.port.out;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Puerto de salida para el registro de claves de idempotencia de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface IdempotencyKeyPort {
+
+    /**
+     * Busca la orden asociada a una clave vigente.
+     * 
+     * @param idempotencyKey clave del cliente
+     * @param userId ID del usuario
+     * @return orden y huella de la petición, vacío si la clave no existe, expiró o aún no tiene orden
+     */
+    Optional<CompletedKey> findCompleted(String idempotencyKey, Long userId);
+
+    /**
+     * Registra la clave en la transacción actual. Si otra transacción la está registrando,
+     * espera a que termine. Una clave expirada se reutiliza.
+     * 
+     * @param idempotencyKey clave del cliente
+     * @param userId ID del usuario
+     * @param requestHash huella de la petición que registra la clave
+     * @param expiresAt instante de expiración
+     * @return true si la clave quedó reservada para el llamador
+     */
+    boolean reserve(String idempotencyKey, Long userId, String requestHash, LocalDateTime expiresAt);
+
+    /**
+     * Asocia la orden creada a una clave reservada en la transacción actual.
+     */
+    void complete(String idempotencyKey, Long userId, Long orderId);
+
+    /**
+     * Elimina un lote de claves expiradas.
+     * 
+     * @param now instante actual
+     * @param limit tamaño máximo del lote
+     * @return número de claves eliminadas
+     */
+    int deleteExpired(LocalDateTime now, int limit);
+
+    /**
+     * Clave ya asociada a una orden.
+     *
+     * @param orderId ID de la orden creada
+     * @param requestHash huella de la petición original; null en claves anteriores a la huella
+     */
+    record CompletedKey(Long orderId, String requestHash) {}
+}
@@ -0,0 +1,23 @@
+package com.nttdata.pedidos.application.order.port.out;
+
+import com.nttdata.pedidos.domain.order.OrderCreatedEvent;
+
+import java.util.List;
+
+/**
+ * Puerto de salida para la bandeja de salida (outbox) de eventos de ordenes.
+ * Los eventos se guardan en la transacción del llamador y se publican después
+ * de forma asíncrona, solo si esa transacción confirma.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface OrderEventOutboxPort {
+
+    /**
+     * Añade eventos de orden creada a la bandeja de salida en un único batch.
+     * 
+     * @param events eventos a publicar
+     */
+    void appendCreated(List<OrderCreatedEvent> events);
+}
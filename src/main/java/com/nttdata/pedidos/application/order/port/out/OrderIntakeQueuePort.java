@@ -0,0 +1,64 @@
+package com.nttdata.pedidos.application.order.port.out;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Puerto de salida para la cola durable de ordenes aceptadas de forma asíncrona.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface OrderIntakeQueuePort {
+
+    /**
+     * Encola una orden en la transacción actual.
+     * 
+     * @param orderId ID de la orden aceptada
+     */
+    void enqueue(Long orderId);
+
+    /**
+     * Retira una orden de la cola para procesarla.
+     * 
+     * @param orderId ID de la orden
+     * @return true si la orden seguía encolada y el llamador debe procesarla
+     */
+    boolean claim(Long orderId);
+
+    /**
+     * Retira de la cola las ordenes indicadas que sigan encoladas.
+     * 
+     * @param orderIds IDs de las ordenes
+     * @return IDs de las ordenes retiradas; el resto ya se procesó o nunca estuvo encolado
+     */
+    List<Long> claimAll(Collection<Long> orderIds);
+
+    /**
+     * Busca ordenes encoladas o reenviadas hace más tiempo del esperado (p. ej. tras un reinicio).
+     * 
+     * @param enqueuedBefore instante límite
+     * @param limit número máximo de resultados
+     * @return ordenes pendientes de procesar con sus reenvíos previos
+     */
+    List<StaleOrder> findStale(LocalDateTime enqueuedBefore, int limit);
+
+    /**
+     * Cuenta un reenvío de las ordenes indicadas; vuelven a considerarse atrasadas
+     * cuando pase de nuevo el tiempo de espera desde {@code now}.
+     * 
+     * @param orderIds IDs de las ordenes reenviadas
+     * @param now instante del reenvío
+     */
+    void recordAttempts(Collection<Long> orderIds, LocalDateTime now);
+
+    /**
+     * Orden atrasada en la cola.
+     *
+     * @param orderId ID de la orden
+     * @param attempts veces que la recuperación ya la reenvió
+     */
+    record StaleOrder(Long orderId, int attempts) {
+    }
+}
@@ -1,9 +1,15 @@
 package com.nttdata.pedidos.application.order.port.out;
 
 import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderDetails;
+import com.nttdata.pedidos.domain.order.OrderStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto de salida para operaciones de persistencia de ordenes.
@@ -14,7 +20,59 @@ import java.util.Optional;
  */
 public interface OrderPersistencePort {
     Order save(Order order);
+    List<Order> saveAll(List<Order> orders);
     Optional<Order> findById(Long orderId);
-    List<Order> findByUserId(Long userId);
+
+    /**
+     * Obtiene el detalle de una orden solo si pertenece al usuario, en una única consulta.
+     */
+    Optional<OrderDetails> findDetailsByIdAndUserId(Long orderId, Long userId);
+
+
+    /**
+     * Obtiene ordenes de un usuario por keyset sobre (created_at, id) descendente.
+     * Las líneas de todas las ordenes devueltas se cargan en una sola consulta.
+     * 
+     * @param userId ID del usuario
+     * @param beforeCreatedAt fecha de la última orden ya devuelta, o null para empezar por la más reciente
+     * @param beforeId ID de la última orden ya devuelta
+     * @param limit número máximo de ordenes
+     */
+    List<Order> findPageByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+
+    /**
+     * Recorre todas las ordenes de un usuario, de la más reciente a la más antigua,
+     * sin mantenerlas en memoria. Debe invocarse dentro de una transacción de solo lectura.
+     * 
+     * @param userId ID del usuario
+     * @param consumer receptor de cada orden, con sus líneas cargadas
+     */
+    void streamByUserId(Long userId, Consumer<Order> consumer);
+
     boolean existsByIdAndUserId(Long orderId, Long userId);
+
+    /**
+     * Obtiene solo la versión de una orden del usuario, sin cargar la orden ni sus líneas.
+     * 
+     * @param orderId ID de la orden
+     * @param userId ID del usuario propietario
+     * @return la versión, o vacío si la orden no existe o no pertenece al usuario
+     */
+    Optional<Long> findVersionByIdAndUserId(Long orderId, Long userId);
+    /**
+     * Obtiene el estado actual de varias ordenes; las inexistentes no aparecen en el resultado.
+     */
+    Map<Long, OrderStatus> findStatuses(Collection<Long> orderIds);
+
+    /**
+     * Cambia el estado de varias ordenes en una sola sentencia, solo si siguen en el estado esperado.
+     * 
+     * @return número de ordenes actualizadas
+     */
+    int transitionStatus(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus);
+
+    /**
+     * Suma las cantidades de las líneas de varias ordenes agrupadas por producto.
+     */
+    Map<Long, Integer> sumQuantitiesByProduct(Collection<Long> orderIds);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.nttdata.pedidos.application.order.port.out;
+
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderSearchCriteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Puerto de salida para búsquedas de ordenes por filtros combinables.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface OrderSearchPort {
+
+    /**
+     * Busca ordenes por keyset sobre (created_at, id) descendente.
+     * 
+     * @param criteria filtros de la búsqueda
+     * @param beforeCreatedAt fecha de la última orden ya devuelta, o null para empezar por la más reciente
+     * @param beforeId ID de la última orden ya devuelta
+     * @param limit número máximo de ordenes
+     */
+    List<Order> search(OrderSearchCriteria criteria, LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+}
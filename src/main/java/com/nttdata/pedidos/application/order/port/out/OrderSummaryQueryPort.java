@@ -0,0 +1,25 @@
+package com.nttdata.pedidos.application.order.port.out;
+
+import com.nttdata.pedidos.domain.order.OrderSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Puerto de salida de consulta sobre el modelo de lectura de resúmenes de ordenes.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface OrderSummaryQueryPort {
+
+    /**
+     * Obtiene resúmenes de un usuario por keyset sobre (created_at, order_id) descendente.
+     * 
+     * @param userId ID del usuario
+     * @param beforeCreatedAt fecha del último resumen ya devuelto, o null para empezar por el más reciente
+     * @param beforeId ID de la última orden ya devuelta
+     * @param limit número máximo de resúmenes
+     */
+    List<OrderSummary> findPageByUserId(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int limit);
+}
@@ -0,0 +1,26 @@
+package com.nttdata.pedidos.application.order.port.out;
+
+import com.nttdata.pedidos.domain.order.ProductSales;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Puerto de salida sobre los acumulados diarios de ventas por producto.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface ProductSalesRollupPort {
+
+    List<ProductSales> findByDateRange(LocalDate from, LocalDate to, Long productId);
+
+    /**
+     * Sustituye los acumulados del rango [from, to) por los recalculados desde las ordenes.
+     * Bloquea las escrituras de acumulados hasta el commit, por lo que conviene invocarlo
+     * con rangos cortos y en transacciones cortas.
+     * 
+     * @return número de buckets producto/día escritos
+     */
+    int rebuild(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,115 @@
+package com.nttdata.pedidos.application.order.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StaleStateException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reintenta una unidad de trabajo transaccional cuando falla por contención:
+ * conflictos de bloqueo optimista, deadlocks o fallos de serialización.
+ * Cada intento debe ejecutar su propia transacción completa, por lo que este
+ * componente se invoca siempre fuera de cualquier transacción.
+ *
+ * La espera entre intentos crece exponencialmente con jitter completo para que
+ * las transacciones en conflicto no vuelvan a coincidir.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class ConcurrencyRetryExecutor {
+
+    /** 40001: serialization_failure, 40P01: deadlock_detected, 55P03: lock_not_available. */
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01", "55P03");
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Counter retries;
+    private final Counter giveUps;
+
+    public ConcurrencyRetryExecutor(MeterRegistry meterRegistry,
+                                    @Value("${app.orders.retry.max-attempts:3}") int maxAttempts,
+                                    @Value("${app.orders.retry.initial-backoff-ms:20}") long initialBackoffMs,
+                                    @Value("${app.orders.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.retries = Counter.builder("orders.concurrency.retries")
+                .description("Order transactions retried after a lock conflict or deadlock")
+                .register(meterRegistry);
+        this.giveUps = Counter.builder("orders.concurrency.give-ups")
+                .description("Order transactions that still conflicted after the last retry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la acción, reintentándola mientras falle por contención y queden intentos.
+     *
+     * @param action unidad de trabajo que abre y confirma su propia transacción
+     * @return el resultado de la acción
+     * @throws RuntimeException el último error si se agotan los intentos o si no es reintentable
+     */
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException ex) {
+                if (!isRetryable(ex)) {
+                    throw ex;
+                }
+                if (attempt >= maxAttempts) {
+                    giveUps.increment();
+                    log.warn("Giving up after {} attempts due to concurrent updates: {}", attempt, ex.getMessage());
+                    throw ex;
+                }
+                retries.increment();
+                long backoff = backoff(attempt);
+                log.debug("Concurrent update conflict on attempt {}, retrying in {} ms", attempt, backoff);
+                sleep(backoff);
+            }
+        }
+    }
+
+    static boolean isRetryable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException
+                    || cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof StaleStateException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && RETRYABLE_SQL_STATES.contains(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", ex);
+        }
+    }
+}
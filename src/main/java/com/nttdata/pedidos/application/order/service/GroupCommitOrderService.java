@@ -0,0 +1,226 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.CreateOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.OrderBatchResult;
+import com.nttdata.pedidos.domain.exception.OrderCommitTimeoutException;
+import com.nttdata.pedidos.domain.order.Order;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creación de ordenes en modo group-commit.
+ * Las peticiones concurrentes se encolan en una cola acotada y un único hilo las
+ * agrupa en micro-batches (hasta N ordenes o T milisegundos) que se persisten en
+ * una sola transacción con inserciones en batch, pagando un único commit por grupo.
+ *
+ * Cada llamador recibe su propia orden o su propio error: una orden rechazada
+ * (stock insuficiente, producto inexistente) no afecta al resto del grupo.
+ *
+ * Toda la llamada (encolar y esperar) comparte un único plazo. Si vence mientras la orden
+ * sigue en la cola, se retira y nunca llega a procesarse: el error garantiza que la orden no
+ * se creó y un reintento del cliente no la duplica. Si ya forma parte de un batch, se espera
+ * al commit del grupo como mucho {@code commit-wait-ms} más; pasado ese margen se lanza
+ * {@link OrderCommitTimeoutException}, porque la orden puede haberse creado.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "app.orders.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitOrderService implements CreateOrderUseCase {
+
+    private final OrderService orderService;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int maxBatchSize;
+    private final long maxWaitMs;
+    private final long timeoutMs;
+    private final long commitWaitMs;
+    private volatile boolean running;
+    private Thread worker;
+
+    public GroupCommitOrderService(OrderService orderService,
+                                   @Value("${app.orders.group-commit.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${app.orders.group-commit.max-batch-size:50}") int maxBatchSize,
+                                   @Value("${app.orders.group-commit.max-wait-ms:5}") long maxWaitMs,
+                                   @Value("${app.orders.group-commit.timeout-ms:5000}") long timeoutMs,
+                                   @Value("${app.orders.group-commit.commit-wait-ms:5000}") long commitWaitMs) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMs = maxWaitMs;
+        this.timeoutMs = timeoutMs;
+        this.commitWaitMs = commitWaitMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "order-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Group-commit order pipeline started (batch: {}, wait: {} ms)", maxBatchSize, maxWaitMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        worker.interrupt();
+        List<PendingOrder> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending -> pending.result().completeExceptionally(
+                new IllegalStateException("Order pipeline is shutting down")));
+    }
+
+    @Override
+    public Order createOrder(CreateOrderCommand command) {
+        log.info("Queueing order for user: {}", command.userId());
+
+        if (!command.isValid()) {
+            throw new IllegalArgumentException("Invalid order command");
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // La orden debe confirmarse con la transacción del llamador, no con la del grupo
+            return orderService.createOrder(command);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        PendingOrder pending = new PendingOrder(command, new CompletableFuture<>(), new AtomicBoolean());
+        try {
+            if (!queue.offer(pending, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("Order intake queue is full");
+            }
+            return await(pending, deadline);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order creation", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Un lote enviado por el cliente ya es un grupo: se persiste directamente.
+     */
+    @Override
+    public List<OrderBatchResult> createOrders(List<CreateOrderCommand> commands) {
+        return orderService.createOrders(commands);
+    }
+
+    /**
+     * Espera el resultado hasta el plazo de la llamada. Si vence, retira la orden de la cola;
+     * si el worker ya la tomó, espera al commit de su batch como mucho {@code commitWaitMs}.
+     */
+    private Order await(PendingOrder pending, long deadline) throws InterruptedException, ExecutionException {
+        try {
+            return pending.result().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            if (pending.claim()) {
+                queue.remove(pending);
+                throw new IllegalStateException("Timed out waiting for order creation, the order was not created", ex);
+            }
+        }
+
+        log.debug("Order for user: {} is already being committed, waiting for its batch", pending.command().userId());
+        try {
+            return pending.result().get(commitWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new OrderCommitTimeoutException(pending.command().userId());
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                List<PendingOrder> batch = nextBatch();
+                commitBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error in group-commit pipeline", ex);
+            }
+        }
+    }
+
+    /**
+     * Espera la primera orden y acumula las siguientes hasta completar el batch o agotar la ventana.
+     * Se omiten las que su llamador ya retiró por tiempo de espera.
+     */
+    private List<PendingOrder> nextBatch() throws InterruptedException {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (batch.isEmpty()) {
+            PendingOrder first = queue.take();
+            if (first.claim()) {
+                batch.add(first);
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            if (next.claim()) {
+                batch.add(next);
+            }
+        }
+        return batch;
+    }
+
+    private void commitBatch(List<PendingOrder> batch) {
+        try {
+            List<OrderBatchResult> results = orderService.createOrders(
+                    batch.stream().map(PendingOrder::command).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                OrderBatchResult result = results.get(i);
+                if (result.succeeded()) {
+                    batch.get(i).result().complete(result.order());
+                } else {
+                    batch.get(i).result().completeExceptionally(result.error());
+                }
+            }
+            log.debug("Group commit processed {} orders", batch.size());
+        } catch (RuntimeException ex) {
+            log.error("Group commit of {} orders failed: {}", batch.size(), ex.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(ex));
+        }
+    }
+
+    /**
+     * {@code claimed} decide quién se queda la orden: el worker al meterla en un batch
+     * o el llamador al retirarla tras agotar la espera. Solo uno de los dos lo consigue.
+     */
+    private record PendingOrder(CreateOrderCommand command, CompletableFuture<Order> result, AtomicBoolean claimed) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
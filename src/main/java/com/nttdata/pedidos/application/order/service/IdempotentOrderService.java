@@ -0,0 +1,197 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.CreateOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.IdempotentCreateOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.IdempotentOrderResult;
+import com.nttdata.pedidos.application.order.port.out.IdempotencyKeyPort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.domain.exception.IdempotencyKeyReusedException;
+import com.nttdata.pedidos.domain.order.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Creación de ordenes con clave de idempotencia.
+ * La clave se registra en la misma transacción que la orden, de modo que un reintento
+ * concurrente espera al original y recibe su resultado en lugar de crear otra orden.
+ * Un LRU en memoria con las respuestas recientes evita consultar la base de datos
+ * en la mayoría de los reintentos.
+ *
+ * La orden se crea con el caso de uso de creación, que se une a la transacción de la clave.
+ * Junto a la clave se guarda una huella SHA-256 de la petición: un reintento con la misma
+ * clave y otro contenido se rechaza en lugar de devolver una orden que no le corresponde.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class IdempotentOrderService implements IdempotentCreateOrderUseCase {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final CreateOrderUseCase createOrderUseCase;
+    private final OrderPersistencePort orderPersistencePort;
+    private final IdempotencyKeyPort idempotencyKeyPort;
+    private final ConcurrencyRetryExecutor concurrencyRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int cleanupBatchSize;
+    private final Map<ReplayKey, Replay> recent;
+
+    public IdempotentOrderService(CreateOrderUseCase createOrderUseCase,
+                                  OrderPersistencePort orderPersistencePort,
+                                  IdempotencyKeyPort idempotencyKeyPort,
+                                  ConcurrencyRetryExecutor concurrencyRetryExecutor,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.orders.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                                  @Value("${app.orders.idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${app.orders.idempotency.cleanup-batch-size:1000}") int cleanupBatchSize) {
+        this.createOrderUseCase = createOrderUseCase;
+        this.orderPersistencePort = orderPersistencePort;
+        this.idempotencyKeyPort = idempotencyKeyPort;
+        this.concurrencyRetryExecutor = concurrencyRetryExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.cleanupBatchSize = cleanupBatchSize;
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ReplayKey, Replay> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public IdempotentOrderResult createOrder(String idempotencyKey, CreateOrderCommand command) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        ReplayKey replayKey = new ReplayKey(command.userId(), idempotencyKey);
+        String requestHash = requestHash(command);
+
+        Optional<IdempotentOrderResult> replay = findReplay(replayKey, requestHash);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        Order created = concurrencyRetryExecutor.execute(() -> transactionTemplate.execute(status -> {
+            if (!idempotencyKeyPort.reserve(idempotencyKey, command.userId(), requestHash, expiresAt)) {
+                return null;
+            }
+            Order saved = createOrderUseCase.createOrder(command);
+            idempotencyKeyPort.complete(idempotencyKey, command.userId(), saved.getId());
+            return saved;
+        }));
+
+        if (created == null) {
+            // Otra petición con la misma clave se confirmó mientras esperábamos
+            return findReplay(replayKey, requestHash)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key is already in use: " + idempotencyKey));
+        }
+
+        remember(replayKey, created, requestHash, expiresAt);
+        log.info("Order created with ID: {} for idempotency key", created.getId());
+        return new IdempotentOrderResult(created, false);
+    }
+
+    /**
+     * Elimina por lotes las claves cuyo TTL ha vencido.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpiredKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyPort.deleteExpired(now, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+
+        synchronized (recent) {
+            recent.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+        }
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+    }
+
+    /**
+     * Busca la respuesta original de la clave. Si la clave se registró con otra petición
+     * lanza {@link IdempotencyKeyReusedException}; las claves sin huella se aceptan.
+     */
+    private Optional<IdempotentOrderResult> findReplay(ReplayKey replayKey, String requestHash) {
+        Replay cached;
+        synchronized (recent) {
+            cached = recent.get(replayKey);
+        }
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            checkSameRequest(replayKey, cached.requestHash(), requestHash);
+            log.debug("Replaying order ID: {} from cache", cached.order().getId());
+            return Optional.of(new IdempotentOrderResult(cached.order(), true));
+        }
+
+        Optional<IdempotencyKeyPort.CompletedKey> completed =
+                idempotencyKeyPort.findCompleted(replayKey.idempotencyKey(), replayKey.userId());
+        if (completed.isEmpty()) {
+            return Optional.empty();
+        }
+        checkSameRequest(replayKey, completed.get().requestHash(), requestHash);
+        return orderPersistencePort.findById(completed.get().orderId())
+                .map(order -> {
+                    log.debug("Replaying order ID: {} from idempotency store", order.getId());
+                    remember(replayKey, order, completed.get().requestHash(), LocalDateTime.now().plus(ttl));
+                    return new IdempotentOrderResult(order, true);
+                });
+    }
+
+    private static void checkSameRequest(ReplayKey replayKey, String storedHash, String requestHash) {
+        if (storedHash != null && !Objects.equals(storedHash, requestHash)) {
+            throw new IdempotencyKeyReusedException(replayKey.idempotencyKey());
+        }
+    }
+
+    private void remember(ReplayKey replayKey, Order order, String requestHash, LocalDateTime expiresAt) {
+        synchronized (recent) {
+            recent.put(replayKey, new Replay(order, requestHash, expiresAt));
+        }
+    }
+
+    /**
+     * Huella SHA-256 de las cantidades por producto, ordenadas por ID: dos peticiones con
+     * las mismas líneas en distinto orden o repartidas de otra forma tienen la misma huella.
+     */
+    static String requestHash(CreateOrderCommand command) {
+        StringBuilder canonical = new StringBuilder();
+        new TreeMap<>(command.quantitiesByProduct())
+                .forEach((productId, quantity) -> canonical.append(productId).append(':').append(quantity).append(';'));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private record ReplayKey(Long userId, String idempotencyKey) {}
+
+    private record Replay(Order order, String requestHash, LocalDateTime expiresAt) {}
+}
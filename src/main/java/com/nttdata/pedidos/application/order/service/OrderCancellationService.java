@@ -0,0 +1,177 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CancelOrderUseCase;
+import com.nttdata.pedidos.application.order.port.out.OrderIntakeQueuePort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.StockReservationPort;
+import com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException;
+import com.nttdata.pedidos.domain.exception.OrderNotFoundException;
+import com.nttdata.pedidos.domain.exception.ReservationExpiredException;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cancelación de ordenes con devolución de stock.
+ * El stock se repone siempre con incrementos relativos ({@code stock = stock + cantidad})
+ * agregados por producto y enviados en un único batch por lote de ordenes, de modo que
+ * nunca pisa las reservas que otras transacciones hacen a la vez.
+ *
+ * Solo se devuelve lo que realmente se descontó: las ordenes aún en la cola de admisión
+ * asíncrona no tienen stock descontado, y las pendientes cuya reserva ya caducó las
+ * repone el barrido de caducadas.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class OrderCancellationService implements CancelOrderUseCase {
+
+    private final OrderPersistencePort orderPersistencePort;
+    private final ProductPersistencePort productPersistencePort;
+    private final StockReservationPort stockReservationPort;
+    private final OrderIntakeQueuePort orderIntakeQueuePort;
+    private final ConcurrencyRetryExecutor retryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reservationsEnabled;
+    private final int batchSize;
+
+    public OrderCancellationService(OrderPersistencePort orderPersistencePort,
+                                    ProductPersistencePort productPersistencePort,
+                                    StockReservationPort stockReservationPort,
+                                    OrderIntakeQueuePort orderIntakeQueuePort,
+                                    ConcurrencyRetryExecutor retryExecutor,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.orders.reservations.enabled:false}") boolean reservationsEnabled,
+                                    @Value("${app.orders.cancellation.batch-size:500}") int batchSize) {
+        this.orderPersistencePort = orderPersistencePort;
+        this.productPersistencePort = productPersistencePort;
+        this.stockReservationPort = stockReservationPort;
+        this.orderIntakeQueuePort = orderIntakeQueuePort;
+        this.retryExecutor = retryExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reservationsEnabled = reservationsEnabled;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Order cancelOrder(Long orderId, Long userId) {
+        log.info("Cancelling order ID: {} for user ID: {}", orderId, userId);
+
+        Order order = orderPersistencePort.findById(orderId)
+                .filter(found -> found.belongsToUser(userId))
+                .orElseThrow(() -> new OrderNotFoundException(orderId, userId));
+        if (order.getStatus() != OrderStatus.CANCELLED) {
+            order.getStatus().checkTransitionTo(OrderStatus.CANCELLED);
+
+            if (cancelBatch(List.of(orderId), true) == 0) {
+                checkCancelled(orderId);
+            }
+            order.setStatus(OrderStatus.CANCELLED);
+        }
+        return order;
+    }
+
+    /**
+     * Cancela una orden solo si sigue pendiente, con la misma devolución de stock que
+     * {@link #cancelOrder}: una orden aún en la cola no repone nada y deja de procesarse.
+     *
+     * @param orderId ID de la orden pendiente
+     */
+    void cancelPendingOrder(Long orderId) {
+        if (cancelBatch(List.of(orderId), false) == 0) {
+            checkCancelled(orderId);
+        }
+    }
+
+    @Override
+    public int cancelOrders(Collection<Long> orderIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        int cancelled = 0;
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            cancelled += cancelBatch(ids.subList(from, Math.min(from + batchSize, ids.size())), true);
+        }
+        log.info("Cancelled {} of {} orders", cancelled, ids.size());
+        return cancelled;
+    }
+
+    /**
+     * Cancela un lote en una transacción: retira las ordenes de la cola o de las reservas,
+     * cambia su estado con UPDATE condicionados y devuelve el stock en un único batch.
+     * Con {@code includeConfirmed=false} las ordenes confirmadas se dejan como están.
+     */
+    private int cancelBatch(List<Long> orderIds, boolean includeConfirmed) {
+        Integer cancelled = retryExecutor.execute(() -> transactionTemplate.execute(status -> {
+            Map<Long, OrderStatus> statuses = orderPersistencePort.findStatuses(orderIds);
+            List<Long> pending = withStatus(statuses, OrderStatus.PENDING);
+            List<Long> confirmed = includeConfirmed ? withStatus(statuses, OrderStatus.CONFIRMED) : List.of();
+
+            // Aceptadas y aún sin procesar: no llegaron a descontar stock
+            List<Long> queued = orderIntakeQueuePort.claimAll(pending);
+            Set<Long> queuedIds = new HashSet<>(queued);
+            List<Long> reserved = pending.stream().filter(id -> !queuedIds.contains(id)).toList();
+            if (reservationsEnabled) {
+                reserved = stockReservationPort.removeAll(reserved);
+            }
+
+            List<Long> cancelledPending = new ArrayList<>(queued);
+            cancelledPending.addAll(reserved);
+            transitionToCancelled(cancelledPending, OrderStatus.PENDING);
+            transitionToCancelled(confirmed, OrderStatus.CONFIRMED);
+
+            List<Long> restock = new ArrayList<>(reserved);
+            restock.addAll(confirmed);
+            if (!restock.isEmpty()) {
+                productPersistencePort.releaseStock(orderPersistencePort.sumQuantitiesByProduct(restock));
+            }
+            return cancelledPending.size() + confirmed.size();
+        }));
+        return cancelled == null ? 0 : cancelled;
+    }
+
+    /**
+     * Explica por qué una orden no se canceló: una pendiente perdió su reserva y
+     * cualquier otro estado distinto de CANCELLED no admite la transición.
+     */
+    private void checkCancelled(Long orderId) {
+        OrderStatus current = orderPersistencePort.findStatuses(List.of(orderId)).get(orderId);
+        if (current == OrderStatus.PENDING) {
+            throw new ReservationExpiredException(orderId);
+        }
+        if (current != OrderStatus.CANCELLED) {
+            throw new InvalidOrderStatusTransitionException(orderId, current, OrderStatus.CANCELLED);
+        }
+    }
+
+    private void transitionToCancelled(List<Long> orderIds, OrderStatus expectedStatus) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        // Si alguna cambió de estado desde la lectura, se reintenta el lote completo
+        if (orderPersistencePort.transitionStatus(orderIds, expectedStatus, OrderStatus.CANCELLED) != orderIds.size()) {
+            throw new OptimisticLockingFailureException("Orders changed status while being cancelled");
+        }
+    }
+
+    private static List<Long> withStatus(Map<Long, OrderStatus> statuses, OrderStatus status) {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getValue() == status)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
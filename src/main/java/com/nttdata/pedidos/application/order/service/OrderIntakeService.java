@@ -0,0 +1,204 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.AcceptOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.out.OrderIntakeQueuePort;
+import com.nttdata.pedidos.application.order.port.out.OrderEventOutboxPort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderCreatedEvent;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio de admisión asíncrona de ordenes.
+ * La orden se valida, se guarda como PENDING junto con su entrada en la cola durable
+ * y se confirma al cliente; un pool de hilos reserva después el stock y la marca
+ * como CONFIRMED o REJECTED. Las entradas que quedan huérfanas (p. ej. tras un
+ * reinicio) se recuperan periódicamente: cada reenvío espera de nuevo el tiempo de
+ * espera completo y, agotados los reenvíos permitidos, la orden se rechaza.
+ *
+ * El evento OrderCreated se emite solo cuando la orden tiene su stock: al confirmarla o,
+ * con las reservas activas, al registrar la reserva igual que en la creación síncrona.
+ * Las ordenes rechazadas no emiten evento.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class OrderIntakeService implements AcceptOrderUseCase {
+
+    private final OrderPreparationService orderPreparationService;
+    private final OrderPersistencePort orderPersistencePort;
+    private final ProductPersistencePort productPersistencePort;
+    private final StockReservationService stockReservationService;
+    private final OrderIntakeQueuePort orderIntakeQueuePort;
+    private final OrderEventOutboxPort orderEventOutboxPort;
+    private final TaskExecutor orderIntakeExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final long staleAfterMs;
+    private final int recoveryBatchSize;
+    private final int maxAttempts;
+
+    public OrderIntakeService(OrderPreparationService orderPreparationService,
+                              OrderPersistencePort orderPersistencePort,
+                              ProductPersistencePort productPersistencePort,
+                              StockReservationService stockReservationService,
+                              OrderIntakeQueuePort orderIntakeQueuePort,
+                              OrderEventOutboxPort orderEventOutboxPort,
+                              @Qualifier("orderIntakeExecutor") TaskExecutor orderIntakeExecutor,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.orders.async-intake.stale-after-ms:30000}") long staleAfterMs,
+                              @Value("${app.orders.async-intake.recovery-batch-size:100}") int recoveryBatchSize,
+                              @Value("${app.orders.async-intake.max-attempts:5}") int maxAttempts) {
+        this.orderPreparationService = orderPreparationService;
+        this.orderPersistencePort = orderPersistencePort;
+        this.productPersistencePort = productPersistencePort;
+        this.stockReservationService = stockReservationService;
+        this.orderIntakeQueuePort = orderIntakeQueuePort;
+        this.orderEventOutboxPort = orderEventOutboxPort;
+        this.orderIntakeExecutor = orderIntakeExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.staleAfterMs = staleAfterMs;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Override
+    public Order acceptOrder(CreateOrderCommand command) {
+        log.info("Accepting order for user: {}", command.userId());
+
+        Order accepted = transactionTemplate.execute(status -> {
+            Order saved = orderPersistencePort.save(orderPreparationService.price(command));
+            orderIntakeQueuePort.enqueue(saved.getId());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(saved.getId());
+                }
+            });
+            return saved;
+        });
+
+        log.info("Order accepted with ID: {}", accepted.getId());
+        return accepted;
+    }
+
+    /**
+     * Reserva el stock de una orden aceptada y registra el resultado.
+     * Si otro hilo ya la retiró de la cola, no hace nada; si la orden cambió de estado
+     * mientras tanto, devuelve el stock reservado.
+     *
+     * @param orderId ID de la orden aceptada
+     */
+    public void processAcceptedOrder(Long orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!orderIntakeQueuePort.claim(orderId)) {
+                log.debug("Order ID: {} already processed", orderId);
+                return;
+            }
+
+            Order order = orderPersistencePort.findById(orderId).orElse(null);
+            if (order == null) {
+                log.warn("Accepted order ID: {} no longer exists", orderId);
+                return;
+            }
+
+            try {
+                orderPreparationService.reserveStock(order);
+            } catch (InsufficientStockException ex) {
+                orderPersistencePort.transitionStatus(List.of(orderId), OrderStatus.PENDING, OrderStatus.REJECTED);
+                log.info("Order ID: {} rejected: {}", orderId, ex.getMessage());
+                return;
+            }
+
+            if (stockReservationService.hold(List.of(order))) {
+                orderEventOutboxPort.appendCreated(List.of(OrderCreatedEvent.from(order)));
+                log.info("Order ID: {} reserved pending confirmation", orderId);
+                return;
+            }
+
+            if (orderPersistencePort.transitionStatus(List.of(orderId), OrderStatus.PENDING, OrderStatus.CONFIRMED) == 0) {
+                productPersistencePort.releaseStock(orderPersistencePort.sumQuantitiesByProduct(List.of(orderId)));
+                log.warn("Order ID: {} changed status while being processed, stock returned", orderId);
+                return;
+            }
+            order.setStatus(OrderStatus.CONFIRMED);
+            orderEventOutboxPort.appendCreated(List.of(OrderCreatedEvent.from(order)));
+            log.info("Order ID: {} confirmed", orderId);
+        });
+    }
+
+    /**
+     * Reenvía al pool las ordenes que llevan demasiado tiempo en la cola y rechaza
+     * las que ya agotaron sus reenvíos. Un reenvío que el pool no admite no cuenta.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.async-intake.recovery-interval-ms:15000}")
+    public void recoverStaleOrders() {
+        List<OrderIntakeQueuePort.StaleOrder> stale = orderIntakeQueuePort.findStale(
+                LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000), recoveryBatchSize);
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        List<Long> resubmitted = new ArrayList<>();
+        for (OrderIntakeQueuePort.StaleOrder entry : stale) {
+            if (entry.attempts() >= maxAttempts) {
+                rejectAbandonedOrder(entry.orderId());
+            } else if (submit(entry.orderId())) {
+                resubmitted.add(entry.orderId());
+            }
+        }
+        if (!resubmitted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    orderIntakeQueuePort.recordAttempts(resubmitted, LocalDateTime.now()));
+            log.info("Resubmitted {} stale accepted orders", resubmitted.size());
+        }
+    }
+
+    /**
+     * Rechaza una orden cuyo procesamiento falló en todos los reenvíos permitidos.
+     * Si entretanto otro hilo llegó a procesarla, no hace nada.
+     */
+    private void rejectAbandonedOrder(Long orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (orderIntakeQueuePort.claim(orderId)) {
+                orderPersistencePort.transitionStatus(List.of(orderId), OrderStatus.PENDING, OrderStatus.REJECTED);
+                log.error("Order ID: {} rejected after {} failed processing attempts", orderId, maxAttempts);
+            }
+        });
+    }
+
+    private boolean submit(Long orderId) {
+        try {
+            orderIntakeExecutor.execute(() -> {
+                try {
+                    processAcceptedOrder(orderId);
+                } catch (RuntimeException ex) {
+                    log.error("Processing of accepted order ID: {} failed, it will be retried", orderId, ex);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException ex) {
+            log.warn("Intake pool saturated, order ID: {} left for recovery", orderId);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.OrderBatchResult;
+import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import com.nttdata.pedidos.domain.order.Money;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderItem;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import com.nttdata.pedidos.domain.product.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Prepara ordenes listas para persistir: resuelve productos, calcula precios
+ * y reserva el stock de todas las líneas.
+ *
+ * No abre transacciones propias: debe invocarse dentro de la transacción del
+ * llamador. Si la reserva falla, devuelve el stock ya descontado antes de lanzar
+ * la excepción, de modo que la transacción compartida puede seguir usándose.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderPreparationService {
+
+    private final ProductPersistencePort productPersistencePort;
+
+    /**
+     * Construye una orden PENDING con el stock de sus líneas ya reservado.
+     *
+     * @param command comando de creación
+     * @return orden sin persistir
+     * @throws IllegalArgumentException si el comando no es válido
+     * @throws InsufficientStockException si alguna línea no tiene stock suficiente
+     */
+    public Order prepare(CreateOrderCommand command) {
+        Order order = price(command);
+        reserveStock(order);
+        return order;
+    }
+
+    /**
+     * Construye una orden PENDING con precios calculados, sin tocar el stock.
+     *
+     * @param command comando de creación
+     * @return orden sin persistir
+     * @throws IllegalArgumentException si el comando no es válido
+     * @throws InsufficientStockException si el stock leído ya no alcanza para alguna línea
+     */
+    public Order price(CreateOrderCommand command) {
+        if (!command.isValid()) {
+            throw new IllegalArgumentException("Invalid order command");
+        }
+
+        Map<Long, Integer> quantities = command.quantitiesByProduct();
+        return price(command, quantities, loadProducts(quantities.keySet()));
+    }
+
+    /**
+     * Prepara varias ordenes a la vez: una sola consulta IN para todos los productos
+     * referenciados y un único batch de UPDATEs condicionales para todas las líneas.
+     * Las ordenes que fallan no retienen stock y se informan en su resultado sin
+     * afectar a las demás.
+     *
+     * @param commands comandos de creación
+     * @return un resultado por comando, en el mismo orden, con las ordenes sin persistir
+     */
+    public List<OrderBatchResult> prepareAll(List<CreateOrderCommand> commands) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        commands.stream()
+                .filter(CreateOrderCommand::isValid)
+                .forEach(command -> productIds.addAll(command.quantitiesByProduct().keySet()));
+        Map<Long, Product> products = loadProducts(productIds);
+
+        OrderBatchResult[] results = new OrderBatchResult[commands.size()];
+        List<Integer> priced = new ArrayList<>(commands.size());
+        List<Map<Long, Integer>> quantitiesPerOrder = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            CreateOrderCommand command = commands.get(i);
+            try {
+                if (!command.isValid()) {
+                    throw new IllegalArgumentException("Invalid order command");
+                }
+                Map<Long, Integer> quantities = command.quantitiesByProduct();
+                results[i] = OrderBatchResult.success(price(command, quantities, products));
+                priced.add(i);
+                quantitiesPerOrder.add(quantities);
+            } catch (RuntimeException ex) {
+                results[i] = OrderBatchResult.failure(ex);
+            }
+        }
+
+        if (!priced.isEmpty()) {
+            List<List<Long>> failedPerOrder = productPersistencePort.reserveStockForEach(quantitiesPerOrder);
+            for (int j = 0; j < priced.size(); j++) {
+                List<Long> failed = failedPerOrder.get(j);
+                if (!failed.isEmpty()) {
+                    int index = priced.get(j);
+                    results[index] = OrderBatchResult.failure(insufficientStock(results[index].order(), failed));
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private Order price(CreateOrderCommand command, Map<Long, Integer> quantities, Map<Long, Product> products) {
+        List<OrderItem> orderItems = new ArrayList<>(quantities.size());
+        long totalCents = validateAndBuildItems(quantities, products, orderItems);
+
+        return Order.builder()
+                .userId(command.userId())
+                .status(OrderStatus.PENDING)
+                .totalAmount(Money.toDecimal(totalCents))
+                .createdAt(LocalDateTime.now())
+                .items(orderItems)
+                .build();
+    }
+
+    /**
+     * Descuenta el stock de todas las líneas en un único batch de UPDATEs condicionales.
+     * Si alguna línea no puede aplicarse, devuelve las que sí se aplicaron y lanza la excepción.
+     *
+     * @param order orden con sus líneas ya construidas
+     * @throws InsufficientStockException si alguna línea no pudo reservarse
+     */
+    public void reserveStock(Order order) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        order.getItems().forEach(item -> quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+
+        List<Long> failed = productPersistencePort.reserveStock(quantities);
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> applied = new LinkedHashMap<>(quantities);
+        failed.forEach(applied::remove);
+        if (!applied.isEmpty()) {
+            productPersistencePort.releaseStock(applied);
+        }
+
+        throw insufficientStock(order, failed);
+    }
+
+    private InsufficientStockException insufficientStock(Order order, List<Long> failed) {
+        log.warn("Stock reservation failed for products: {}", failed);
+        OrderItem item = order.getItems().stream()
+                .filter(line -> line.getProductId().equals(failed.get(0)))
+                .findFirst()
+                .orElseThrow();
+        return new InsufficientStockException(item.getProductName(), item.getQuantity());
+    }
+
+    /**
+     * Resuelve todos los productos indicados con una sola consulta IN.
+     */
+    private Map<Long, Product> loadProducts(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productPersistencePort.findAllByIdIn(new ArrayList<>(productIds))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * Construye una línea por producto, con las cantidades duplicadas ya agrupadas.
+     * Los importes se calculan una sola vez, en céntimos, y se convierten a BigDecimal
+     * únicamente al asignarlos a la línea.
+     *
+     * @return total de la orden en céntimos
+     */
+    private long validateAndBuildItems(Map<Long, Integer> quantities, Map<Long, Product> products,
+                                       List<OrderItem> orderItems) {
+        long totalCents = 0;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long productId = line.getKey();
+            int quantity = line.getValue();
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new RuntimeException("Product not found with ID: " + productId);
+            }
+            if (product.getStock() < quantity) {
+                throw new InsufficientStockException(product.getName(), product.getStock(), quantity);
+            }
+
+            long subtotalCents = Money.multiply(Money.toCents(product.getPrice()), quantity);
+            totalCents = Math.addExact(totalCents, subtotalCents);
+            orderItems.add(OrderItem.builder()
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .quantity(quantity)
+                    .unitPrice(product.getPrice())
+                    .subtotal(Money.toDecimal(subtotalCents))
+                    .build());
+        }
+        return totalCents;
+    }
+}
@@ -0,0 +1,44 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.OrderPage;
+import com.nttdata.pedidos.application.order.port.in.OrderPageCursor;
+import com.nttdata.pedidos.application.order.port.in.SearchOrdersUseCase;
+import com.nttdata.pedidos.application.order.port.out.OrderSearchPort;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Búsqueda de ordenes para el back-office.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSearchService implements SearchOrdersUseCase {
+
+    private final OrderSearchPort orderSearchPort;
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage searchOrders(OrderSearchCriteria criteria, OrderPageCursor after, int size) {
+        log.debug("Searching {} orders with {}", size, criteria);
+
+        List<Order> orders = after == null
+                ? orderSearchPort.search(criteria, null, null, size + 1)
+                : orderSearchPort.search(criteria, after.createdAt(), after.orderId(), size + 1);
+        if (orders.size() <= size) {
+            return new OrderPage(orders, null);
+        }
+        List<Order> page = orders.subList(0, size);
+        Order last = page.get(size - 1);
+        return new OrderPage(page, new OrderPageCursor(last.getCreatedAt(), last.getId()));
+    }
+}
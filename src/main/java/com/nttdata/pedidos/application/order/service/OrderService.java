@@ -11,20 +11,27 @@ package com.nttdata.pedidos.application.order.service;
 import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
 import com.nttdata.pedidos.application.order.port.in.CreateOrderUseCase;
 import com.nttdata.pedidos.application.order.port.in.GetOrderUseCase;
-import com.nttdata.pedidos.application.order.port.in.OrderItemCommand;
+import com.nttdata.pedidos.application.order.port.in.OrderBatchResult;
+import com.nttdata.pedidos.application.order.port.in.OrderPage;
+import com.nttdata.pedidos.application.order.port.in.OrderPageCursor;
+import com.nttdata.pedidos.application.order.port.out.OrderEventOutboxPort;
 import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
-import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.domain.exception.OrderNotFoundException;
 import com.nttdata.pedidos.domain.order.Order;
-import com.nttdata.pedidos.domain.order.OrderItem;
-import com.nttdata.pedidos.domain.product.Product;
+import com.nttdata.pedidos.domain.order.OrderDetails;
+import com.nttdata.pedidos.domain.order.OrderCreatedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Servicio de aplicación para la gestión de ordenes.
@@ -41,81 +48,108 @@ import java.util.List;
 public class OrderService implements CreateOrderUseCase, GetOrderUseCase {
 
     private final OrderPersistencePort orderPersistencePort;
-    private final ProductPersistencePort productPersistencePort;
-
+    private final OrderPreparationService orderPreparationService;
+    private final StockReservationService stockReservationService;
+    private final OrderEventOutboxPort orderEventOutboxPort;
+    private final ConcurrencyRetryExecutor concurrencyRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Crea la orden en su propia transacción, repitiéndola si choca con otra
+     * transacción concurrente (bloqueo optimista o deadlock). El evento OrderCreated
+     * se escribe en la bandeja de salida dentro de la misma transacción.
+     * Invocada dentro de una transacción activa, se une a ella y los reintentos
+     * quedan a cargo del llamador.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Order createOrder(CreateOrderCommand command) {
         log.info("Creating order for user: {}", command.userId());
 
-        if (!command.isValid()) {
-            throw new IllegalArgumentException("Invalid order command");
-        }
-
-        List<OrderItem> orderItems = validateAndBuildItems(command.items());
-        BigDecimal totalAmount = calculateTotal(orderItems);
-
-        Order order = Order.builder()
-                .userId(command.userId())
-                .status("PENDING")
-                .totalAmount(totalAmount)
-                .createdAt(LocalDateTime.now())
-                .items(orderItems)
-                .build();
-
-        Order savedOrder = orderPersistencePort.save(order);
+        Order savedOrder = TransactionSynchronizationManager.isActualTransactionActive()
+                ? persistNewOrder(command)
+                : concurrencyRetryExecutor.execute(() -> transactionTemplate.execute(status -> persistNewOrder(command)));
         log.info("Order created successfully with ID: {}", savedOrder.getId());
         
         return savedOrder;
     }
 
-    // ✅ CORREGIR ESTA LÍNEA:
-    private List<OrderItem> validateAndBuildItems(List<OrderItemCommand> items) {
-    // ❌ LINEA ORIGINAL: private List<OrderItem> validateAndBuildItems(List<com.nttdata.pedidos.application.port.in.OrderItemCommand> items) {
-    
-        return items.stream().map(item -> {
-            Product product = productPersistencePort.findById(item.productId())
-                    .orElseThrow(() -> new RuntimeException("Product not found with ID: " + item.productId()));
-
-            if (product.getStock() < item.quantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName() + 
-                                          ". Available: " + product.getStock() + ", Requested: " + item.quantity());
+    private Order persistNewOrder(CreateOrderCommand command) {
+        Order saved = orderPersistencePort.save(orderPreparationService.prepare(command));
+        stockReservationService.hold(List.of(saved));
+        orderEventOutboxPort.appendCreated(List.of(OrderCreatedEvent.from(saved)));
+        return saved;
+    }
+
+    /**
+     * Crea un lote de ordenes en una sola transacción: las aceptadas se insertan juntas
+     * y las rechazadas se informan individualmente.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<OrderBatchResult> createOrders(List<CreateOrderCommand> commands) {
+        log.info("Creating batch of {} orders", commands.size());
+
+        List<OrderBatchResult> results = concurrencyRetryExecutor.execute(() -> transactionTemplate.execute(status -> {
+            List<OrderBatchResult> prepared = orderPreparationService.prepareAll(commands);
+            List<Order> accepted = prepared.stream()
+                    .filter(OrderBatchResult::succeeded)
+                    .map(OrderBatchResult::order)
+                    .toList();
+            if (accepted.isEmpty()) {
+                return prepared;
             }
 
-            // Update product stock
-            product.setStock(product.getStock() - item.quantity());
-            productPersistencePort.save(product);
-
-            OrderItem orderItem = OrderItem.builder()
-                    .productId(product.getId())
-                    .productName(product.getName())
-                    .quantity(item.quantity())
-                    .unitPrice(product.getPrice())
-                    .build();
-            
-            orderItem.calculateSubtotal();
-            return orderItem;
-        }).toList();
-    }
+            List<Order> saved = orderPersistencePort.saveAll(accepted);
+            stockReservationService.hold(saved);
+            orderEventOutboxPort.appendCreated(saved.stream().map(OrderCreatedEvent::from).toList());
+
+            Iterator<Order> next = saved.iterator();
+            return prepared.stream()
+                    .map(result -> result.succeeded() ? OrderBatchResult.success(next.next()) : result)
+                    .toList();
+        }));
 
-    private BigDecimal calculateTotal(List<OrderItem> items) {
-        return items.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        log.info("Batch created {} of {} orders", results.stream().filter(OrderBatchResult::succeeded).count(), commands.size());
+        return results;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Order getOrderById(Long orderId, Long userId) {
+    public OrderDetails getOrderById(Long orderId, Long userId) {
         log.info("Fetching order ID: {} for user ID: {}", orderId, userId);
-        return orderPersistencePort.findById(orderId)
-                .filter(order -> order.getUserId().equals(userId))
-                .orElseThrow(() -> new RuntimeException("Order not found with ID: " + orderId));
+        return orderPersistencePort.findDetailsByIdAndUserId(orderId, userId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId, userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getOrderVersion(Long orderId, Long userId) {
+        log.debug("Fetching version of order ID: {} for user ID: {}", orderId, userId);
+        return orderPersistencePort.findVersionByIdAndUserId(orderId, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage getOrdersByUser(Long userId, OrderPageCursor after, int size) {
+        log.info("Fetching {} orders for user ID: {}", size, userId);
+
+        // Se pide una orden de más para saber si existe una página siguiente
+        List<Order> orders = after == null
+                ? orderPersistencePort.findPageByUserId(userId, null, null, size + 1)
+                : orderPersistencePort.findPageByUserId(userId, after.createdAt(), after.orderId(), size + 1);
+        if (orders.size() <= size) {
+            return new OrderPage(orders, null);
+        }
+        List<Order> page = orders.subList(0, size);
+        Order last = page.get(size - 1);
+        return new OrderPage(page, new OrderPageCursor(last.getCreatedAt(), last.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByUser(Long userId) {
-        log.info("Fetching all orders for user ID: {}", userId);
-        return orderPersistencePort.findByUserId(userId);
+    public void exportOrdersByUser(Long userId, Consumer<Order> consumer) {
+        log.info("Exporting orders for user ID: {}", userId);
+        orderPersistencePort.streamByUserId(userId, consumer);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.TransitionOrdersUseCase;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Transiciones de estado en bloque.
+ * Todas las ordenes se actualizan con una única sentencia UPDATE condicionada al estado
+ * esperado, sin cargar ni guardar las entidades una a una.
+ *
+ * Solo se admiten los estados de logística: cancelar, rechazar o caducar una orden
+ * implica devolver stock y tiene sus propios flujos.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatusService implements TransitionOrdersUseCase {
+
+    private static final Set<OrderStatus> BULK_TARGETS = EnumSet.of(OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+
+    private final OrderPersistencePort orderPersistencePort;
+
+    @Override
+    @Transactional
+    public int transitionOrders(Collection<Long> orderIds, OrderStatus expectedStatus, OrderStatus newStatus) {
+        expectedStatus.checkTransitionTo(newStatus);
+        if (!BULK_TARGETS.contains(newStatus)) {
+            throw new InvalidOrderStatusTransitionException(expectedStatus, newStatus);
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        int updated = orderPersistencePort.transitionStatus(ids, expectedStatus, newStatus);
+        log.info("Moved {} of {} orders from {} to {}", updated, ids.size(), expectedStatus, newStatus);
+        return updated;
+    }
+}
@@ -0,0 +1,43 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.GetOrderSummariesUseCase;
+import com.nttdata.pedidos.application.order.port.in.OrderPageCursor;
+import com.nttdata.pedidos.application.order.port.in.OrderSummaryPage;
+import com.nttdata.pedidos.application.order.port.out.OrderSummaryQueryPort;
+import com.nttdata.pedidos.domain.order.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Consultas de listados sobre el modelo de lectura de resúmenes de ordenes.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryService implements GetOrderSummariesUseCase {
+
+    private final OrderSummaryQueryPort orderSummaryQueryPort;
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSummaryPage getOrderSummaries(Long userId, OrderPageCursor after, int size) {
+        log.debug("Fetching {} order summaries for user ID: {}", size, userId);
+
+        List<OrderSummary> summaries = after == null
+                ? orderSummaryQueryPort.findPageByUserId(userId, null, null, size + 1)
+                : orderSummaryQueryPort.findPageByUserId(userId, after.createdAt(), after.orderId(), size + 1);
+        if (summaries.size() <= size) {
+            return new OrderSummaryPage(summaries, null);
+        }
+        List<OrderSummary> page = summaries.subList(0, size);
+        OrderSummary last = page.get(size - 1);
+        return new OrderSummaryPage(page, new OrderPageCursor(last.createdAt(), last.orderId()));
+    }
+}
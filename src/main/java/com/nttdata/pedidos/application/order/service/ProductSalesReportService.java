@@ -0,0 +1,62 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.ProductSalesReportUseCase;
+import com.nttdata.pedidos.application.order.port.out.ProductSalesRollupPort;
+import com.nttdata.pedidos.domain.order.ProductSales;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Informes de ventas servidos únicamente desde los acumulados diarios.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductSalesReportService implements ProductSalesReportUseCase {
+
+    private final ProductSalesRollupPort productSalesRollupPort;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSales> getProductSales(LocalDate from, LocalDate to, Long productId) {
+        checkRange(from, to);
+        log.debug("Fetching product sales from {} to {} for product ID: {}", from, to, productId);
+        return productSalesRollupPort.findByDateRange(from, to, productId);
+    }
+
+    /**
+     * Recalcula un día por transacción: el bloqueo de la tabla de acumulados dura lo que
+     * tarda un día y no el rango completo. Si falla a mitad, los días anteriores quedan
+     * recalculados y repetir la petición es seguro.
+     */
+    @Override
+    public int rebuildProductSales(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        log.info("Rebuilding product sales from {} to {}", from, to);
+
+        int buckets = 0;
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            LocalDate start = day;
+            Integer written = transactionTemplate.execute(status -> productSalesRollupPort.rebuild(start, start.plusDays(1)));
+            buckets += written == null ? 0 : written;
+        }
+        log.info("Product sales rebuilt from {} to {}: {} buckets", from, to, buckets);
+        return buckets;
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+}
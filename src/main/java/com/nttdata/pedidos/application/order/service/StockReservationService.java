@@ -0,0 +1,163 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.OrderReservationUseCase;
+import com.nttdata.pedidos.application.order.port.out.OrderIntakeQueuePort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.StockReservationPort;
+import com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException;
+import com.nttdata.pedidos.domain.exception.OrderNotFoundException;
+import com.nttdata.pedidos.domain.exception.ReservationExpiredException;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reservas temporales de stock para ordenes pendientes de pago.
+ * Al crear la orden el stock se descuenta como hasta ahora y además se registra una
+ * reserva con caducidad; confirmar el pago elimina la reserva y deja el descuento,
+ * liberar o dejar caducar la reserva devuelve el stock.
+ *
+ * Con {@code app.orders.reservations.enabled=false} no se registran reservas y la
+ * confirmación solo cambia el estado de la orden.
+ *
+ * Una orden aceptada que sigue en la cola de admisión asíncrona aún no descontó stock:
+ * confirmarla la retira de la cola y descuenta el stock en ese momento; liberarla pasa
+ * por la cancelación, que la retira de la cola sin reponer nada.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class StockReservationService implements OrderReservationUseCase {
+
+    private final OrderPersistencePort orderPersistencePort;
+    private final ProductPersistencePort productPersistencePort;
+    private final StockReservationPort stockReservationPort;
+    private final OrderIntakeQueuePort orderIntakeQueuePort;
+    private final OrderPreparationService orderPreparationService;
+    private final OrderCancellationService orderCancellationService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+
+    public StockReservationService(OrderPersistencePort orderPersistencePort,
+                                   ProductPersistencePort productPersistencePort,
+                                   StockReservationPort stockReservationPort,
+                                   OrderIntakeQueuePort orderIntakeQueuePort,
+                                   OrderPreparationService orderPreparationService,
+                                   OrderCancellationService orderCancellationService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.orders.reservations.enabled:false}") boolean enabled,
+                                   @Value("${app.orders.reservations.ttl-seconds:900}") long ttlSeconds,
+                                   @Value("${app.orders.reservations.sweep-batch-size:500}") int sweepBatchSize) {
+        this.orderPersistencePort = orderPersistencePort;
+        this.productPersistencePort = productPersistencePort;
+        this.stockReservationPort = stockReservationPort;
+        this.orderIntakeQueuePort = orderIntakeQueuePort;
+        this.orderPreparationService = orderPreparationService;
+        this.orderCancellationService = orderCancellationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Registra la reserva de las ordenes recién guardadas, en la transacción actual.
+     *
+     * @param orders ordenes con stock ya descontado
+     * @return true si se registraron reservas; false con las reservas desactivadas
+     */
+    public boolean hold(List<Order> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return false;
+        }
+        stockReservationPort.hold(orders.stream().map(Order::getId).toList(), LocalDateTime.now().plus(ttl));
+        return true;
+    }
+
+    @Override
+    public Order confirmOrder(Long orderId, Long userId) {
+        log.info("Confirming order ID: {} for user ID: {}", orderId, userId);
+        return transactionTemplate.execute(status -> {
+            Order order = findOwnedOrder(orderId, userId);
+            if (order.getStatus() == OrderStatus.CONFIRMED) {
+                return order;
+            }
+            order.getStatus().checkTransitionTo(OrderStatus.CONFIRMED);
+            if (orderIntakeQueuePort.claim(orderId)) {
+                // Aún sin procesar: el stock se descuenta ahora y no hay reserva que retirar
+                orderPreparationService.reserveStock(order);
+            } else if (enabled && !stockReservationPort.remove(orderId, LocalDateTime.now())) {
+                throw new ReservationExpiredException(orderId);
+            }
+            if (orderPersistencePort.transitionStatus(List.of(orderId), OrderStatus.PENDING, OrderStatus.CONFIRMED) == 0) {
+                throw new InvalidOrderStatusTransitionException(orderId, order.getStatus(), OrderStatus.CONFIRMED);
+            }
+            order.setStatus(OrderStatus.CONFIRMED);
+            return order;
+        });
+    }
+
+    @Override
+    public Order releaseOrder(Long orderId, Long userId) {
+        log.info("Releasing order ID: {} for user ID: {}", orderId, userId);
+        Order order = findOwnedOrder(orderId, userId);
+        if (!order.isPending()) {
+            throw new InvalidOrderStatusTransitionException(orderId, order.getStatus(), OrderStatus.CANCELLED);
+        }
+        orderCancellationService.cancelPendingOrder(orderId);
+        order.setStatus(OrderStatus.CANCELLED);
+        return order;
+    }
+
+    /**
+     * Devuelve el stock de las reservas caducadas, por lotes y en una transacción por lote.
+     * Cada lote agrega las cantidades por producto y las repone en un único batch.
+     */
+    @Scheduled(fixedDelayString = "${app.orders.reservations.sweep-interval-ms:10000}")
+    public void releaseExpiredHolds() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int released;
+        do {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> orderIds = stockReservationPort.removeExpired(now, sweepBatchSize);
+                if (!orderIds.isEmpty()) {
+                    Map<Long, Integer> quantities = orderPersistencePort.sumQuantitiesByProduct(orderIds);
+                    productPersistencePort.releaseStock(quantities);
+                    orderPersistencePort.transitionStatus(orderIds, OrderStatus.PENDING, OrderStatus.EXPIRED);
+                }
+                return orderIds.size();
+            });
+            released = batch == null ? 0 : batch;
+            total += released;
+        } while (released == sweepBatchSize);
+
+        if (total > 0) {
+            log.info("Released stock of {} expired reservations", total);
+        }
+    }
+
+    private Order findOwnedOrder(Long orderId, Long userId) {
+        return orderPersistencePort.findById(orderId)
+                .filter(order -> order.belongsToUser(userId))
+                .orElseThrow(() -> new OrderNotFoundException(orderId, userId));
+    }
+}
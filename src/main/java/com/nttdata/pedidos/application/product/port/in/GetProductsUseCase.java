@@ -1,7 +1,6 @@
 package com.nttdata.pedidos.application.product.port.in;
 
 import com.nttdata.pedidos.domain.product.Product;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,11 +12,14 @@ import java.util.Optional;
 public interface GetProductsUseCase {
     
     /**
-     * Obtiene todos los productos activos del sistema.
+     * Obtiene una página de productos activos en el orden indicado.
      * 
-     * @return lista de productos activos
+     * @param sort criterio de orden
+     * @param after posición del último producto de la página anterior, o null para la primera
+     * @param size número máximo de productos de la página
+     * @return página de productos y cursor de la siguiente
      */
-    List<Product> getAllActiveProducts();
+    ProductPage getActiveProducts(ProductSort sort, ProductPageCursor after, int size);
     
     /**
      * Busca un producto por su ID.
@@ -27,6 +29,14 @@ public interface GetProductsUseCase {
      */
     Optional<Product> getProductById(Long id);
     
+    /**
+     * Obtiene la versión actual de un producto activo sin cargarlo, para peticiones condicionales.
+     * 
+     * @param id identificador del producto
+     * @return Optional con la versión si el producto existe y está activo
+     */
+    Optional<Long> getProductVersion(Long id);
+    
     /**
      * Verifica si existe un producto con el nombre especificado.
      * 
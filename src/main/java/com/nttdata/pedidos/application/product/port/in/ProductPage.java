@@ -0,0 +1,20 @@
+package com.nttdata.pedidos.application.product.port.in;
+
+import com.nttdata.pedidos.domain.product.Product;
+
+import java.util.List;
+
+/**
+ * Página del listado de productos activos.
+ * 
+ * @param products productos de la página
+ * @param nextCursor posición para pedir la página siguiente, o null si no hay más
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record ProductPage(List<Product> products, ProductPageCursor nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.nttdata.pedidos.application.product.port.in;
+
+import com.nttdata.pedidos.domain.product.Product;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición del último producto devuelto en una página del listado.
+ * Guarda el valor de la clave de orden (nombre, precio o fecha de creación) y el ID,
+ * y se expone al cliente como un token opaco.
+ * 
+ * @param sort criterio de orden de la página
+ * @param key valor de la clave de orden del último producto de la página
+ * @param productId ID del último producto de la página
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public record ProductPageCursor(ProductSort sort, String key, Long productId) {
+
+    public static ProductPageCursor after(ProductSort sort, Product last) {
+        String key = switch (sort) {
+            case NAME -> last.getName();
+            case PRICE -> last.getPrice().toPlainString();
+            case NEWEST -> last.getCreatedAt().toString();
+        };
+        return new ProductPageCursor(sort, key, last.getId());
+    }
+
+    public BigDecimal price() {
+        return new BigDecimal(key);
+    }
+
+    public LocalDateTime createdAt() {
+        return LocalDateTime.parse(key);
+    }
+
+    public String encode() {
+        // La clave va al final: un nombre puede contener el separador
+        String raw = sort + "|" + productId + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException si el token no es un cursor válido o se generó con otro orden
+     */
+    public static ProductPageCursor decode(String token, ProductSort expectedSort) {
+        ProductPageCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            cursor = new ProductPageCursor(ProductSort.valueOf(parts[0]), parts[2], Long.valueOf(parts[1]));
+            switch (cursor.sort()) {
+                case PRICE -> cursor.price();
+                case NEWEST -> cursor.createdAt();
+                case NAME -> { }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid page cursor", ex);
+        }
+        if (cursor.sort() != expectedSort) {
+            throw new IllegalArgumentException("Page cursor was issued for sort " + cursor.sort() + ", not " + expectedSort);
+        }
+        return cursor;
+    }
+}
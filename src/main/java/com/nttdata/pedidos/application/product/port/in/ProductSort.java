@@ -0,0 +1,15 @@
+package com.nttdata.pedidos.application.product.port.in;
+
+/**
+ * Criterios de orden del listado de productos activos.
+ * NAME y PRICE son ascendentes; NEWEST devuelve primero los productos más recientes.
+ * El ID desempata en todos los casos.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public enum ProductSort {
+    NAME,
+    PRICE,
+    NEWEST
+}
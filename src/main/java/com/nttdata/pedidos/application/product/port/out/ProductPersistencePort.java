@@ -1,7 +1,11 @@
 package com.nttdata.pedidos.application.product.port.out;
 
+import com.nttdata.pedidos.application.product.port.in.ProductPage;
+import com.nttdata.pedidos.application.product.port.in.ProductPageCursor;
+import com.nttdata.pedidos.application.product.port.in.ProductSort;
 import com.nttdata.pedidos.domain.product.Product;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,11 +34,23 @@ public interface ProductPersistencePort {
     Optional<Product> findById(Long id);
     
     /**
-     * Obtiene todos los productos activos.
+     * Obtiene solo la versión de un producto activo.
      * 
-     * @return lista de productos activos
+     * @param id identificador del producto
+     * @return Optional con la versión si el producto existe y está activo
+     */
+    Optional<Long> findActiveVersionById(Long id);
+    
+    /**
+     * Obtiene una página de productos activos por keyset sobre (clave de orden, ID),
+     * sin contar ni saltar filas: cada página continúa donde terminó la anterior.
+     * 
+     * @param sort criterio de orden
+     * @param after posición del último producto de la página anterior, o null para la primera
+     * @param size número máximo de productos de la página
+     * @return página de productos y cursor de la siguiente, null si no hay más
      */
-    List<Product> findAllActive();
+    ProductPage findActivePage(ProductSort sort, ProductPageCursor after, int size);
     
     /**
      * Verifica si existe un producto con el nombre especificado.
@@ -51,4 +67,36 @@ public interface ProductPersistencePort {
      * @return lista de productos encontrados
      */
     List<Product> findAllByIdIn(List<Long> ids);
+    
+    /**
+     * Descuenta stock de forma atómica para varios productos.
+     * Cada línea se aplica con un UPDATE condicional ({@code stock >= cantidad})
+     * y todas las líneas se envían en un único batch JDBC, en orden ascendente de ID
+     * para que transacciones concurrentes no se bloqueen mutuamente.
+     * 
+     * @param quantities mapa de ID de producto a cantidad a descontar
+     * @return IDs de los productos cuyo descuento no pudo aplicarse
+     */
+    List<Long> reserveStock(Map<Long, Integer> quantities);
+
+    /**
+     * Descuenta el stock de varias ordenes independientes, todo o nada por orden.
+     * Cada línea se aplica con el mismo UPDATE condicional que {@link #reserveStock(Map)};
+     * una orden que falla no retiene ninguna unidad, de modo que nunca deja sin stock
+     * a otra orden del mismo lote.
+     * 
+     * @param quantitiesPerOrder cantidades por producto de cada orden
+     * @return para cada orden, los IDs de los productos sin stock suficiente;
+     *         si la lista no está vacía, esa orden no descontó nada
+     */
+    List<List<Long>> reserveStockForEach(List<Map<Long, Integer>> quantitiesPerOrder);
+    
+    /**
+     * Devuelve stock a varios productos con incrementos relativos
+     * ({@code stock = stock + cantidad}) enviados en un único batch JDBC,
+     * en orden ascendente de ID.
+     * 
+     * @param quantities mapa de ID de producto a cantidad a devolver
+     */
+    void releaseStock(Map<Long, Integer> quantities);
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.nttdata.pedidos.application.product.port.out;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Puerto de salida para las reservas temporales de stock.
+ * El stock de una orden reservada ya está descontado en el producto; la reserva
+ * solo registra hasta cuándo se mantiene antes de devolverlo.
+ * 
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+public interface StockReservationPort {
+
+    /**
+     * Registra la reserva de varias ordenes en un único batch.
+     * 
+     * @param orderIds IDs de las ordenes
+     * @param expiresAt instante en que caduca la reserva
+     */
+    void hold(Collection<Long> orderIds, LocalDateTime expiresAt);
+
+    /**
+     * Elimina la reserva de una orden, bloqueándola frente al barrido de caducadas.
+     * Una reserva ya caducada no se elimina aunque el barrido aún no haya pasado:
+     * queda para que este devuelva su stock.
+     * 
+     * @param orderId ID de la orden
+     * @param now instante actual
+     * @return true si la reserva seguía vigente
+     */
+    boolean remove(Long orderId, LocalDateTime now);
+
+    /**
+     * Elimina la reserva de varias ordenes en una sola sentencia.
+     * 
+     * @param orderIds IDs de las ordenes
+     * @return IDs de las ordenes cuya reserva seguía vigente
+     */
+    List<Long> removeAll(Collection<Long> orderIds);
+
+    /**
+     * Elimina un lote de reservas caducadas. Las filas bloqueadas por otra transacción
+     * se saltan, de modo que varios nodos pueden barrer en paralelo.
+     * 
+     * @param now instante actual
+     * @param limit tamaño máximo del lote
+     * @return IDs de las ordenes cuya reserva caducó
+     */
+    List<Long> removeExpired(LocalDateTime now, int limit);
+}
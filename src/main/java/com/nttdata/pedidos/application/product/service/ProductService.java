@@ -1,9 +1,13 @@
 package com.nttdata.pedidos.application.product.service;
 
+import com.nttdata.pedidos.application.order.service.ConcurrencyRetryExecutor;
 import com.nttdata.pedidos.application.product.port.in.CreateProductUseCase;
 import com.nttdata.pedidos.application.product.port.in.GetProductsUseCase;
 import com.nttdata.pedidos.application.product.port.in.UpdateProductUseCase;
 import com.nttdata.pedidos.application.product.port.in.CreateProductCommand;
+import com.nttdata.pedidos.application.product.port.in.ProductPage;
+import com.nttdata.pedidos.application.product.port.in.ProductPageCursor;
+import com.nttdata.pedidos.application.product.port.in.ProductSort;
 import com.nttdata.pedidos.application.product.port.in.UpdateProductCommand;
 import com.nttdata.pedidos.application.product.port.in.UpdateProductStockCommand;
 import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
@@ -11,7 +15,9 @@ import com.nttdata.pedidos.domain.product.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +37,8 @@ import java.util.Optional;
 public class ProductService implements CreateProductUseCase, GetProductsUseCase, UpdateProductUseCase {
 
     private final ProductPersistencePort productPersistencePort;
+    private final ConcurrencyRetryExecutor concurrencyRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * {@inheritDoc}
@@ -65,9 +73,9 @@ public class ProductService implements CreateProductUseCase, GetProductsUseCase,
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Product> getAllActiveProducts() {
-        log.debug("Retrieving all active products");
-        return productPersistencePort.findAllActive();
+    public ProductPage getActiveProducts(ProductSort sort, ProductPageCursor after, int size) {
+        log.debug("Retrieving {} active products sorted by {}", size, sort);
+        return productPersistencePort.findActivePage(sort, after, size);
     }
 
     /**
@@ -81,6 +89,16 @@ public class ProductService implements CreateProductUseCase, GetProductsUseCase,
                 .filter(product -> Boolean.TRUE.equals(product.getActive()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getProductVersion(Long id) {
+        log.debug("Retrieving version of product ID: {}", id);
+        return productPersistencePort.findActiveVersionById(id);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -93,11 +111,17 @@ public class ProductService implements CreateProductUseCase, GetProductsUseCase,
 
     /**
      * {@inheritDoc}
+     * Cada intento relee el producto en su propia transacción: con el libro de stock
+     * activo, sus volcados incrementan la versión y el guardado puede chocar con ellos.
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Product updateProduct(UpdateProductCommand command) {
         log.info("Updating product with ID: {}", command.productId());
-        
+        return concurrencyRetryExecutor.execute(() -> transactionTemplate.execute(status -> applyUpdate(command)));
+    }
+
+    private Product applyUpdate(UpdateProductCommand command) {
         // Buscar producto existente
         Product existingProduct = productPersistencePort.findById(command.productId())
                 .orElseThrow(() -> {
@@ -131,11 +155,16 @@ public class ProductService implements CreateProductUseCase, GetProductsUseCase,
 
     /**
      * {@inheritDoc}
+     * Se reintenta igual que {@link #updateProduct(UpdateProductCommand)}.
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Product updateProductStock(UpdateProductStockCommand command) {
         log.info("Updating stock for product with ID: {}", command.productId());
-        
+        return concurrencyRetryExecutor.execute(() -> transactionTemplate.execute(status -> applyStockUpdate(command)));
+    }
+
+    private Product applyStockUpdate(UpdateProductStockCommand command) {
         // Buscar producto existente
         Product existingProduct = productPersistencePort.findById(command.productId())
                 .orElseThrow(() -> {
@@ -187,13 +216,11 @@ public class ProductService implements CreateProductUseCase, GetProductsUseCase,
             }
         }
 
-        // Aplicar reducciones de stock
-        for (Product product : products) {
-            Integer quantity = productQuantities.get(product.getId());
-            product.reduceStock(quantity);
-            productPersistencePort.save(product);
-            log.debug("Reduced stock for product ID: {} by {}, remaining: {}", 
-                     product.getId(), quantity, product.getStock());
+        // Aplicar reducciones de stock con UPDATEs condicionales en un único batch
+        List<Long> failed = productPersistencePort.reserveStock(productQuantities);
+        if (!failed.isEmpty()) {
+            log.error("Stock reduction rejected for product IDs: {}", failed);
+            throw new IllegalStateException("Insufficient stock for product ID: " + failed.get(0));
         }
         
         log.info("Stock reduction completed successfully for {} products", products.size());
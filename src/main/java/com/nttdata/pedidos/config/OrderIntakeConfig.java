@@ -0,0 +1,30 @@
+package com.nttdata.pedidos.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pool de hilos que completa las ordenes aceptadas de forma asíncrona.
+ *
+ * @author Jhan Robert Velez
+ * @version 1.0
+ */
+@Configuration
+public class OrderIntakeConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor orderIntakeExecutor(
+            @Value("${app.orders.async-intake.pool-size:4}") int poolSize,
+            @Value("${app.orders.async-intake.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-intake-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nttdata.pedidos.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita la ejecución de tareas programadas (@Scheduled).
+ * El pool del planificador ({@code spring.task.scheduling.pool.size}) tiene un hilo por
+ * tarea, para que un barrido o una entrega lenta no retrase el volcado del libro de stock.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,7 @@
+package com.nttdata.pedidos.domain.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key was already used with a different request: " + idempotencyKey);
+    }
+}
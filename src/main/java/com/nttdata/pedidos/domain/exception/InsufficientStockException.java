@@ -6,6 +6,11 @@ public class InsufficientStockException extends RuntimeException {
               ". Available: " + available + ", Requested: " + requested);
     }
     
+    public InsufficientStockException(String productName, Integer requested) {
+        super("Insufficient stock for product: " + productName + 
+              ". Requested: " + requested);
+    }
+    
     public InsufficientStockException(Long productId, Integer available, Integer requested) {
         super("Insufficient stock for product ID: " + productId + 
               ". Available: " + available + ", Requested: " + requested);
@@ -0,0 +1,13 @@
+package com.nttdata.pedidos.domain.exception;
+
+import com.nttdata.pedidos.domain.order.OrderStatus;
+
+public class InvalidOrderStatusTransitionException extends RuntimeException {
+    public InvalidOrderStatusTransitionException(OrderStatus from, OrderStatus to) {
+        super("Order status cannot change from " + from + " to " + to);
+    }
+
+    public InvalidOrderStatusTransitionException(Long orderId, OrderStatus from, OrderStatus to) {
+        super("Order ID: " + orderId + " cannot change from " + from + " to " + to);
+    }
+}
@@ -0,0 +1,8 @@
+package com.nttdata.pedidos.domain.exception;
+
+public class OrderCommitTimeoutException extends RuntimeException {
+    public OrderCommitTimeoutException(Long userId) {
+        super("Timed out waiting for the order of user ID: " + userId
+                + " to commit, the order may have been created");
+    }
+}
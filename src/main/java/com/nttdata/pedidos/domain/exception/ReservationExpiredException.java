@@ -0,0 +1,7 @@
+package com.nttdata.pedidos.domain.exception;
+
+public class ReservationExpiredException extends RuntimeException {
+    public ReservationExpiredException(Long orderId) {
+        super("Stock reservation expired for order ID: " + orderId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.nttdata.pedidos.domain.order;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética monetaria en céntimos ({@code long}) para el cálculo de precios.
+ * Los importes se convierten desde y hacia {@link BigDecimal} solo en los bordes
+ * (producto leído, orden persistida o expuesta); dentro del cálculo se opera con
+ * primitivas sin crear objetos intermedios.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Convierte un importe a céntimos, redondeando medio céntimo hacia arriba.
+     *
+     * @throws ArithmeticException si el importe no cabe en un {@code long}
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * @throws ArithmeticException si el resultado desborda
+     */
+    public static long multiply(long unitCents, int quantity) {
+        return Math.multiplyExact(unitCents, quantity);
+    }
+}
@@ -8,27 +8,30 @@ import java.util.List;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Order {
     private Long id;
     private Long userId;
-    private String status;
+    private OrderStatus status;
     private BigDecimal totalAmount;
     private LocalDateTime createdAt;
+    private Long version;
     private List<OrderItem> items;
     
     public void calculateTotal() {
         if (items != null) {
-            this.totalAmount = items.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            long totalCents = 0;
+            for (OrderItem item : items) {
+                totalCents = Math.addExact(totalCents, Money.toCents(item.getSubtotal()));
+            }
+            this.totalAmount = Money.toDecimal(totalCents);
         }
     }
     
     public boolean isPending() {
-        return "PENDING".equals(status);
+        return status == OrderStatus.PENDING;
     }
     
     public boolean belongsToUser(Long userId) {
@@ -0,0 +1,29 @@
+package com.nttdata.pedidos.domain.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Evento de dominio emitido al crear una orden.
+ */
+public record OrderCreatedEvent(
+    Long orderId,
+    Long userId,
+    String status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    List<Line> items
+) {
+    public static final String TYPE = "OrderCreated";
+
+    public static OrderCreatedEvent from(Order order) {
+        List<Line> lines = order.getItems() == null ? List.of() : order.getItems().stream()
+                .map(item -> new Line(item.getProductId(), item.getQuantity(), item.getUnitPrice()))
+                .toList();
+        return new OrderCreatedEvent(order.getId(), order.getUserId(), order.getStatus().name(),
+                order.getTotalAmount(), order.getCreatedAt(), lines);
+    }
+
+    public record Line(Long productId, Integer quantity, BigDecimal unitPrice) {}
+}
@@ -0,0 +1,24 @@
+package com.nttdata.pedidos.domain.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vista de solo lectura de una orden con sus líneas, para consultas de detalle.
+ */
+public record OrderDetails(
+    Long orderId,
+    Long userId,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    Long version,
+    List<Line> items
+) {
+    public OrderDetails {
+        items = List.copyOf(items);
+    }
+
+    public record Line(Long productId, String productName, Integer quantity, BigDecimal unitPrice, BigDecimal subtotal) {}
+}
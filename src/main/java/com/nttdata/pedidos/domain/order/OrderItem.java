@@ -6,7 +6,7 @@ import java.math.BigDecimal;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class OrderItem {
@@ -18,9 +18,16 @@ public class OrderItem {
     
     public void calculateSubtotal() {
         if (unitPrice != null && quantity != null) {
-            this.subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            this.subtotal = Money.toDecimal(subtotalCents());
         }
     }
+
+    /**
+     * Subtotal en céntimos calculado a partir del precio unitario y la cantidad.
+     */
+    public long subtotalCents() {
+        return Money.multiply(Money.toCents(unitPrice), quantity);
+    }
     
     public boolean isValid() {
         return productId != null && 
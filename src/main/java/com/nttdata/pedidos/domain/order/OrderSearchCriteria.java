@@ -0,0 +1,26 @@
+package com.nttdata.pedidos.domain.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros de búsqueda de ordenes; los campos nulos no filtran.
+ * El rango de fechas es [createdFrom, createdTo).
+ */
+public record OrderSearchCriteria(
+    OrderStatus status,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    Long productId
+) {
+    public OrderSearchCriteria {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nttdata.pedidos.domain.order;
+
+import com.nttdata.pedidos.domain.exception.InvalidOrderStatusTransitionException;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ciclo de vida de una orden y transiciones permitidas entre estados.
+ */
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    REJECTED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED,
+    EXPIRED;
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        for (OrderStatus status : values()) {
+            TRANSITIONS.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, REJECTED, CANCELLED, EXPIRED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    public boolean isFinal() {
+        return TRANSITIONS.get(this).isEmpty();
+    }
+
+    /**
+     * Indica si las líneas de una orden en este estado cuentan como vendidas.
+     */
+    public boolean countsAsSale() {
+        return this != CANCELLED && this != REJECTED && this != EXPIRED;
+    }
+
+    public void checkTransitionTo(OrderStatus target) {
+        if (!canTransitionTo(target)) {
+            throw new InvalidOrderStatusTransitionException(this, target);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.nttdata.pedidos.domain.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vista resumida de una orden para listados, sin sus líneas.
+ */
+public record OrderSummary(
+    Long orderId,
+    Long userId,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    int lineCount,
+    LocalDateTime createdAt
+) {}
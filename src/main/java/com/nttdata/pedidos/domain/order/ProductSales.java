@@ -0,0 +1,14 @@
+package com.nttdata.pedidos.domain.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Unidades vendidas e ingresos de un producto en un día.
+ */
+public record ProductSales(
+    Long productId,
+    LocalDate salesDate,
+    long units,
+    BigDecimal revenue
+) {}
@@ -16,13 +16,14 @@ public class Product {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Constructor vacío
     public Product() {}
 
     // Constructor con todos los campos
     public Product(Long id, String name, String description, BigDecimal price, 
-                  Integer stock, Boolean active, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                  Integer stock, Boolean active, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -31,6 +32,7 @@ public class Product {
         this.active = active;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     // Builder static method
@@ -62,6 +64,9 @@ public class Product {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 
     /**
      * Factory method para crear un nuevo producto.
@@ -160,6 +165,7 @@ public class Product {
         private Boolean active;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private Long version;
 
         public ProductBuilder id(Long id) {
             this.id = id;
@@ -201,8 +207,13 @@ public class Product {
             return this;
         }
 
+        public ProductBuilder version(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public Product build() {
-            return new Product(id, name, description, price, stock, active, createdAt, updatedAt);
+            return new Product(id, name, description, price, stock, active, createdAt, updatedAt, version);
         }
     }
 }
\ No newline at end of file
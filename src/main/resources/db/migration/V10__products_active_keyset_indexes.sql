@@ -0,0 +1,6 @@
+-- Listado paginado del catálogo por (clave de orden, id), solo sobre productos activos.
+-- Los índices parciales excluyen los productos dados de baja y ya devuelven las filas
+-- en el orden de cada criterio, de modo que cada página es un recorrido corto del índice.
+CREATE INDEX IF NOT EXISTS idx_products_active_name_id ON products (name, id) WHERE active = true;
+CREATE INDEX IF NOT EXISTS idx_products_active_price_id ON products (price, id) WHERE active = true;
+CREATE INDEX IF NOT EXISTS idx_products_active_created_id ON products (created_at, id) WHERE active = true;
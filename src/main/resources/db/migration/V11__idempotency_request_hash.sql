@@ -0,0 +1,4 @@
+-- Huella SHA-256 de la petición que registró cada clave de idempotencia.
+-- Un reintento con la misma clave y otro contenido se rechaza en lugar de devolver
+-- la orden original. Las claves anteriores quedan sin huella y se aceptan tal cual.
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
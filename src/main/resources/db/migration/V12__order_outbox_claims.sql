@@ -0,0 +1,5 @@
+-- Reclamo de eventos de la bandeja de salida con caducidad.
+-- El relay marca un lote con claimed_until en una transacción corta, lo publica fuera
+-- de ella y después lo borra. Si la instancia cae antes de borrarlo, el reclamo vence
+-- y otra instancia vuelve a tomar el lote.
+ALTER TABLE order_outbox ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP(6);
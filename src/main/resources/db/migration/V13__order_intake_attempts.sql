@@ -0,0 +1,3 @@
+-- Número de veces que la recuperación ha reenviado cada orden aceptada.
+-- Al alcanzar el máximo configurado la orden se rechaza en lugar de reintentarse sin fin.
+ALTER TABLE order_intake_queue ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0;
@@ -0,0 +1,66 @@
+-- Esquema existente antes de introducir Flyway (generado hasta ahora por Hibernate).
+-- Idempotente para que las bases de datos ya creadas puedan adoptarlo.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    role    VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100)   NOT NULL,
+    description VARCHAR(500)   NOT NULL,
+    price       NUMERIC(10, 2) NOT NULL,
+    stock       INTEGER        NOT NULL,
+    active      BOOLEAN        NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6)   NOT NULL,
+    version     BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT         NOT NULL,
+    status       VARCHAR(50)    NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    version      BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id     BIGINT         NOT NULL REFERENCES orders (id),
+    product_id   BIGINT         NOT NULL,
+    product_name VARCHAR(255)   NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    subtotal     NUMERIC(10, 2) NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    version      BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS order_intake_queue (
+    order_id    BIGINT       PRIMARY KEY,
+    enqueued_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_order_intake_queue_enqueued_at ON order_intake_queue (enqueued_at);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    user_id         BIGINT       NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    order_id        BIGINT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
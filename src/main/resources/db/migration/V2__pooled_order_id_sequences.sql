@@ -0,0 +1,12 @@
+-- Ordenes e items pasan de IDENTITY a secuencias con incremento 50 (optimizador pooled de Hibernate),
+-- lo que permite agrupar sus INSERT en batches JDBC.
+
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+
+-- El siguiente bloque que reserve Hibernate empieza después del mayor ID existente
+SELECT setval('orders_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders), 1));
+SELECT setval('order_items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM order_items), 1));
+
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,9 @@
+-- Reservas de stock con caducidad: una fila por orden cuyo stock está retenido
+-- a la espera de la confirmación del pago. Las cantidades se leen de order_items.
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    order_id   BIGINT       PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_expires_at ON stock_reservations (expires_at);
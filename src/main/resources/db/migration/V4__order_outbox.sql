@@ -0,0 +1,10 @@
+-- Bandeja de salida transaccional de eventos de ordenes. El relay lee por lotes
+-- en orden de ID y borra las filas una vez publicadas.
+
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_id BIGINT       NOT NULL,
+    event_type   VARCHAR(100) NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Historial de ordenes de un usuario paginado por (created_at, id):
+-- el índice cubre el filtro por usuario y el orden, sin ordenar en memoria.
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_id ON orders (user_id, created_at, id);
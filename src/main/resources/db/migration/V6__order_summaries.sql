@@ -0,0 +1,21 @@
+-- Modelo de lectura para los listados de ordenes: una fila por orden con los campos
+-- que muestra el listado, mantenida en la misma transacción que escribe la orden.
+-- Sin FK a orders: la fila se inserta por JDBC antes de que Hibernate vuelque la orden.
+
+CREATE TABLE IF NOT EXISTS order_summaries (
+    order_id     BIGINT         PRIMARY KEY,
+    user_id      BIGINT         NOT NULL,
+    status       VARCHAR(50)    NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    line_count   INTEGER        NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_summaries_user_created ON order_summaries (user_id, created_at, order_id);
+
+INSERT INTO order_summaries (order_id, user_id, status, total_amount, line_count, created_at)
+SELECT o.id, o.user_id, o.status, o.total_amount, COUNT(i.id), o.created_at
+FROM orders o
+LEFT JOIN order_items i ON i.order_id = o.id
+GROUP BY o.id, o.user_id, o.status, o.total_amount, o.created_at
+ON CONFLICT (order_id) DO NOTHING;
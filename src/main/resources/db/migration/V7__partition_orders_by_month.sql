@@ -0,0 +1,106 @@
+-- Particionado mensual por created_at de orders y order_items. Las líneas copian la
+-- fecha de su orden, así que una orden y sus líneas viven en el mismo mes.
+-- Las particiones antiguas se mueven al esquema orders_archive (ver OrderPartitionMaintenance).
+--
+-- La PK de una tabla particionada debe incluir la clave de partición, por lo que pasa a
+-- ser (id, created_at) y la FK de order_items a orders desaparece; los IDs siguen siendo
+-- únicos porque salen de orders_seq / order_items_seq.
+
+CREATE SCHEMA IF NOT EXISTS orders_archive;
+
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'order_items'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE order_items DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+DROP INDEX IF EXISTS idx_orders_user_created_id;
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER TABLE order_items RENAME TO order_items_unpartitioned;
+
+CREATE TABLE orders (
+    id           BIGINT         NOT NULL,
+    user_id      BIGINT         NOT NULL,
+    status       VARCHAR(50)    NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    version      BIGINT,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE order_items (
+    id           BIGINT         NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    product_id   BIGINT         NOT NULL,
+    product_name VARCHAR(255)   NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    subtotal     NUMERIC(10, 2) NOT NULL,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    version      BIGINT,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_orders_user_created_id ON orders (user_id, created_at, id);
+CREATE INDEX idx_order_items_order_id ON order_items (order_id);
+
+-- Red de seguridad si el job no ha creado a tiempo la partición del mes
+CREATE TABLE orders_default PARTITION OF orders DEFAULT;
+CREATE TABLE order_items_default PARTITION OF order_items DEFAULT;
+
+-- Mismas tablas en el esquema de archivo; las particiones se adjuntan aquí al archivarlas
+CREATE TABLE orders_archive.orders (LIKE orders INCLUDING DEFAULTS, PRIMARY KEY (id, created_at))
+    PARTITION BY RANGE (created_at);
+CREATE TABLE orders_archive.order_items (LIKE order_items INCLUDING DEFAULTS, PRIMARY KEY (id, created_at))
+    PARTITION BY RANGE (created_at);
+CREATE INDEX idx_archive_order_items_order_id ON orders_archive.order_items (order_id);
+
+-- Crea (si no existen) las particiones mensuales de orders y order_items
+CREATE OR REPLACE FUNCTION create_order_partitions(first_month DATE, months INTEGER) RETURNS VOID AS $$
+DECLARE
+    month_start DATE;
+    suffix      TEXT;
+BEGIN
+    FOR i IN 0 .. months - 1 LOOP
+        month_start := (date_trunc('month', first_month) + make_interval(months => i))::DATE;
+        suffix := to_char(month_start, 'YYYYMM');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || suffix, month_start, (month_start + INTERVAL '1 month')::DATE);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF order_items FOR VALUES FROM (%L) TO (%L)',
+                       'order_items_p' || suffix, month_start, (month_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month',
+        LEAST(COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), now()), now()))::DATE;
+    span        INTERVAL := age(date_trunc('month', now()), first_month);
+BEGIN
+    PERFORM create_order_partitions(first_month,
+        (EXTRACT(YEAR FROM span) * 12 + EXTRACT(MONTH FROM span))::INTEGER + 4);
+END $$;
+
+INSERT INTO orders (id, user_id, status, total_amount, created_at, updated_at, version)
+SELECT id, user_id, status, total_amount, created_at, updated_at, version FROM orders_unpartitioned;
+
+-- Hasta ahora cada línea tenía su propia fecha de creación, unos instantes distinta de la
+-- de su orden: se copia la de la orden para que ambas se unan por (order_id, created_at)
+INSERT INTO order_items (id, order_id, product_id, product_name, quantity, unit_price, subtotal,
+                         created_at, updated_at, version)
+SELECT i.id, i.order_id, i.product_id, i.product_name, i.quantity, i.unit_price, i.subtotal,
+       o.created_at, i.updated_at, i.version
+FROM order_items_unpartitioned i
+JOIN orders_unpartitioned o ON o.id = i.order_id;
+
+DROP TABLE order_items_unpartitioned;
+DROP TABLE orders_unpartitioned;
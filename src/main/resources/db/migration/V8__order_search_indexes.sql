@@ -0,0 +1,5 @@
+-- Índices de la búsqueda de ordenes del back-office.
+-- (status, created_at, id) sirve los filtros por estado y rango de fechas ya ordenados para el keyset;
+-- (product_id, order_id) resuelve el filtro "contiene el producto" sin recorrer las líneas.
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_id ON orders (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_order_items_product_order ON order_items (product_id, order_id);
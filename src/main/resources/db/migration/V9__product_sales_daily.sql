@@ -0,0 +1,22 @@
+-- Acumulados diarios de unidades e ingresos por producto para los informes de ventas.
+-- Se mantienen en la misma transacción que crea o anula las ordenes, así que un informe
+-- recorre un bucket por producto y día en lugar de todas las líneas de orden.
+-- Cuentan las ordenes creadas que no han sido canceladas, rechazadas ni han expirado.
+
+CREATE TABLE IF NOT EXISTS product_sales_daily (
+    product_id BIGINT         NOT NULL,
+    sales_date DATE           NOT NULL,
+    units      BIGINT         NOT NULL,
+    revenue    NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (product_id, sales_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_product_sales_daily_date ON product_sales_daily (sales_date, product_id);
+
+INSERT INTO product_sales_daily (product_id, sales_date, units, revenue)
+SELECT i.product_id, CAST(o.created_at AS DATE), SUM(i.quantity), SUM(i.subtotal)
+FROM orders o
+JOIN order_items i ON i.order_id = o.id AND i.created_at = o.created_at
+WHERE o.status NOT IN ('CANCELLED', 'REJECTED', 'EXPIRED')
+GROUP BY i.product_id, CAST(o.created_at AS DATE)
+ON CONFLICT (product_id, sales_date) DO NOTHING;
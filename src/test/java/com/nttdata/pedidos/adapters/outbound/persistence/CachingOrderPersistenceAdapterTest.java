@@ -0,0 +1,145 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderRepository;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que la caché de ordenes se invalida con las escrituras y que una lectura
+ * que cargó datos anteriores al commit no los deja en caché tras la invalidación.
+ */
+class CachingOrderPersistenceAdapterTest {
+
+    private static final Long ORDER_ID = 1L;
+    private static final Long USER_ID = 7L;
+
+    private final OrderPersistenceAdapter delegate = mock(OrderPersistenceAdapter.class);
+    private final SpringDataOrderRepository orderRepository = mock(SpringDataOrderRepository.class);
+    private final CachingOrderPersistenceAdapter adapter = new CachingOrderPersistenceAdapter(
+            delegate, orderRepository, new SimpleMeterRegistry(), 100, 100, 60);
+
+    @Test
+    void cachedOrderIsReloadedAfterAStatusChange() {
+        when(delegate.findById(ORDER_ID)).thenReturn(Optional.of(order(OrderStatus.PENDING)),
+                Optional.of(order(OrderStatus.CONFIRMED)));
+        when(delegate.transitionStatus(any(), any(), any())).thenReturn(1);
+
+        assertThat(adapter.findById(ORDER_ID)).map(Order::getStatus).contains(OrderStatus.PENDING);
+        assertThat(adapter.findById(ORDER_ID)).map(Order::getStatus).contains(OrderStatus.PENDING);
+        verify(delegate, times(1)).findById(ORDER_ID);
+
+        adapter.transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
+        assertThat(adapter.findById(ORDER_ID)).map(Order::getStatus).contains(OrderStatus.CONFIRMED);
+        verify(delegate, times(2)).findById(ORDER_ID);
+    }
+
+    @Test
+    void firstPageIsReloadedAfterTheUserPlacesAnOrder() {
+        Order placed = order(OrderStatus.PENDING);
+        when(delegate.findPageByUserId(USER_ID, null, null, 20)).thenReturn(List.of(), List.of(placed));
+        when(delegate.save(placed)).thenReturn(placed);
+
+        assertThat(adapter.findPageByUserId(USER_ID, null, null, 20)).isEmpty();
+        assertThat(adapter.findPageByUserId(USER_ID, null, null, 20)).isEmpty();
+
+        adapter.save(placed);
+
+        assertThat(adapter.findPageByUserId(USER_ID, null, null, 20)).extracting(Order::getId).containsExactly(ORDER_ID);
+        verify(delegate, times(2)).findPageByUserId(USER_ID, null, null, 20);
+    }
+
+    @Test
+    void firstPageLoadedBeforeTheCommitIsDroppedEvenIfNoPageWasCachedAtTheChange() {
+        when(delegate.transitionStatus(any(), any(), any())).thenReturn(1);
+        when(delegate.findPageByUserId(USER_ID, null, null, 20)).thenReturn(
+                List.of(order(OrderStatus.PENDING)), List.of(order(OrderStatus.CONFIRMED)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+            // Otra petición lee la primera página antes del commit y la guarda en caché
+            assertThat(adapter.findPageByUserId(USER_ID, null, null, 20))
+                    .extracting(Order::getStatus).containsExactly(OrderStatus.PENDING);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(adapter.findPageByUserId(USER_ID, null, null, 20))
+                .extracting(Order::getStatus).containsExactly(OrderStatus.CONFIRMED);
+        verify(orderRepository, never()).findUserIds(any());
+    }
+
+    @Test
+    void readThatLoadedBeforeTheCommitDoesNotOutliveTheInvalidation() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+        when(delegate.findById(ORDER_ID)).thenAnswer(invocation -> {
+            // La primera lectura ve la fila anterior al commit y tarda en devolverla
+            loadStarted.countDown();
+            finishLoad.await(5, TimeUnit.SECONDS);
+            return Optional.of(order(OrderStatus.PENDING));
+        }).thenReturn(Optional.of(order(OrderStatus.CONFIRMED)));
+        when(delegate.transitionStatus(any(), any(), any())).thenReturn(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Optional<Order>> staleRead =
+                    CompletableFuture.supplyAsync(() -> adapter.findById(ORDER_ID), executor);
+            assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<Void> committedWrite = CompletableFuture.runAsync(this::commitStatusChange, executor);
+            // Sin carga atómica la escritura terminaría aquí y la lectura lenta guardaría el valor viejo
+            try {
+                committedWrite.get(300, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException expected) {
+                // La invalidación espera a que termine la carga en curso
+            }
+            finishLoad.countDown();
+            staleRead.get(5, TimeUnit.SECONDS);
+            committedWrite.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(adapter.findById(ORDER_ID)).map(Order::getStatus).contains(OrderStatus.CONFIRMED);
+    }
+
+    private void commitStatusChange() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Order order(OrderStatus status) {
+        return Order.builder().id(ORDER_ID).userId(USER_ID).status(status).build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.nttdata.pedidos.adapters.outbound.persistence;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.OrderItemEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que una orden grande se inserta con sentencias JDBC agrupadas en batches
+ * y no con un INSERT por línea.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=20",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderBatchInsertTest {
+
+    private static final int LINES = 100;
+
+    @Autowired
+    private SpringDataOrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void persistsHundredLineOrderInBatchedStatements() {
+        OrderEntity order = OrderEntity.builder()
+                .userId(1L)
+                .status("PENDING")
+                .totalAmount(BigDecimal.valueOf(LINES))
+                .build();
+        for (int i = 0; i < LINES; i++) {
+            order.addItem(OrderItemEntity.builder()
+                    .productId((long) i + 1)
+                    .productName("Product " + i)
+                    .quantity(1)
+                    .unitPrice(BigDecimal.ONE)
+                    .subtotal(BigDecimal.ONE)
+                    .build());
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        orderRepository.save(order);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(LINES + 1);
+        // 1 INSERT de la orden + 5 batches de 20 líneas + 3 llamadas a secuencias (bloques de 50)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+}
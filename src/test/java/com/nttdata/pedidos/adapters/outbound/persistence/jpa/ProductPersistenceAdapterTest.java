@@ -0,0 +1,118 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.jpa;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.mapper.ProductEntityMapper;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataProductRepository;
+import com.nttdata.pedidos.adapters.outbound.persistence.ledger.StockLedger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que la reserva de stock de un lote de ordenes es todo o nada por orden:
+ * una orden fallida no deja sin stock a las siguientes, con y sin libro de stock.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductPersistenceAdapter.class, ProductEntityMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductPersistenceAdapterTest {
+
+    @Autowired
+    private ProductPersistenceAdapter productPersistenceAdapter;
+
+    @Autowired
+    private ProductEntityMapper productEntityMapper;
+
+    @Autowired
+    private SpringDataProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long keyboardId;
+    private Long mouseId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        keyboardId = createProduct("Keyboard", 5);
+        mouseId = createProduct("Mouse", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.deleteAll());
+    }
+
+    @Test
+    void failedOrderDoesNotStarveTheNextOneInTheBatch() {
+        // La primera orden toma 3 teclados antes de fallar por los ratones; la segunda necesita 4
+        List<List<Long>> failed = transactionTemplate.execute(status -> productPersistenceAdapter.reserveStockForEach(
+                List.of(Map.of(keyboardId, 3, mouseId, 2), Map.of(keyboardId, 4))));
+
+        assertThat(failed).containsExactly(List.of(mouseId), List.of());
+        assertThat(stock(keyboardId)).isEqualTo(1);
+        assertThat(stock(mouseId)).isEqualTo(1);
+    }
+
+    @Test
+    void ordersWithoutStockKeepNothing() {
+        List<List<Long>> failed = transactionTemplate.execute(status -> productPersistenceAdapter.reserveStockForEach(
+                List.of(Map.of(keyboardId, 2, mouseId, 1), Map.of(keyboardId, 2, mouseId, 1))));
+
+        assertThat(failed).containsExactly(List.of(), List.of(mouseId));
+        assertThat(stock(keyboardId)).isEqualTo(3);
+        assertThat(stock(mouseId)).isZero();
+    }
+
+    @Test
+    void ledgerReservesEachOrderAllOrNothing() {
+        StockLedger stockLedger = new StockLedger(productRepository, 4);
+        ProductPersistenceAdapter ledgerAdapter = new ProductPersistenceAdapter(
+                productRepository, productEntityMapper, jdbcTemplate, Optional.of(stockLedger));
+
+        List<List<Long>> failed = ledgerAdapter.reserveStockForEach(
+                List.of(Map.of(keyboardId, 3, mouseId, 2), Map.of(keyboardId, 4)));
+
+        assertThat(failed).containsExactly(List.of(mouseId), List.of());
+        // Las 4 unidades vendidas dejan 1 teclado: reservar 2 falla y 1 entra
+        assertThat(stockLedger.reserve(Map.of(keyboardId, 2))).containsExactly(keyboardId);
+        assertThat(stockLedger.reserve(Map.of(keyboardId, 1, mouseId, 1))).isEmpty();
+    }
+
+    private Long createProduct(String name, int stock) {
+        ProductEntity product = new ProductEntity();
+        product.setName(name);
+        product.setDescription(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        return transactionTemplate.execute(status -> productRepository.save(product).getId());
+    }
+
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,173 @@
+package com.nttdata.pedidos.adapters.outbound.persistence.ledger;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Verifica que el libro de stock no vende de más bajo contención, que devuelve las
+ * unidades de las transacciones revertidas y que el volcado conserva los deltas si falla.
+ */
+@DataJpaTest(properties = "app.stock-ledger.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StockLedger.class, StockLedgerWriteBehind.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockLedgerTest {
+
+    private static final int STOCK = 100;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockLedgerWriteBehind writeBehind;
+
+    @Autowired
+    private SpringDataProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductEntity product = new ProductEntity();
+        product.setName("Ledger product");
+        product.setDescription("Ledger product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(STOCK);
+        productId = transactionTemplate.execute(status -> productRepository.save(product).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.deleteAll());
+    }
+
+    @Test
+    void concurrentReservationsNeverTakeMoreThanTheStock() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 50;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (stockLedger.reserve(Map.of(productId, 1)).isEmpty()) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        StockLedger.Slot slot = stockLedger.find(productId);
+        assertThat(accepted.get()).isEqualTo(STOCK);
+        assertThat(slot.available.get()).isZero();
+        assertThat(slot.pending.get()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void committedReservationIsFlushedToTheDatabase() {
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(stockLedger.reserve(Map.of(productId, 3))).isEmpty());
+
+        writeBehind.flush();
+
+        assertThat(databaseStock()).isEqualTo(STOCK - 3);
+        assertThat(stockLedger.find(productId).pending.get()).isZero();
+        assertThat(stockLedger.find(productId).available.get()).isEqualTo(STOCK - 3);
+    }
+
+    @Test
+    void rolledBackReservationReturnsItsUnits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(stockLedger.reserve(Map.of(productId, 40))).isEmpty();
+            assertThat(stockLedger.find(productId).available.get()).isEqualTo(STOCK - 40);
+            status.setRollbackOnly();
+        });
+
+        StockLedger.Slot slot = stockLedger.find(productId);
+        assertThat(slot.available.get()).isEqualTo(STOCK);
+        assertThat(slot.pending.get()).isZero();
+        assertThat(slot.inflight.get()).isZero();
+    }
+
+    @Test
+    void reservationBeyondTheStockFailsWithoutTakingUnits() {
+        assertThat(stockLedger.reserve(Map.of(productId, STOCK + 1))).containsExactly(productId);
+        assertThat(stockLedger.find(productId).available.get()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void failedFlushKeepsTheDeltasForTheNextPass() {
+        JdbcTemplate failingJdbc = spy(jdbcTemplate);
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+                .when(failingJdbc).batchUpdate(anyString(), anyList());
+        StockLedgerWriteBehind failing = new StockLedgerWriteBehind(
+                stockLedger, failingJdbc, transactionManager, new SimpleMeterRegistry(), 500);
+        stockLedger.reserve(Map.of(productId, 5));
+
+        failing.flush();
+
+        assertThat(databaseStock()).isEqualTo(STOCK);
+        assertThat(stockLedger.find(productId).pending.get()).isEqualTo(5);
+
+        writeBehind.flush();
+
+        assertThat(databaseStock()).isEqualTo(STOCK - 5);
+        assertThat(stockLedger.find(productId).pending.get()).isZero();
+    }
+
+    private int databaseStock() {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
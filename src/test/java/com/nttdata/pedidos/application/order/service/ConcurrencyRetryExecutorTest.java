@@ -0,0 +1,89 @@
+package com.nttdata.pedidos.application.order.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica qué errores de contención se reintentan, que se desiste al agotar los intentos
+ * y que los contadores de reintentos y abandonos reflejan cada caso.
+ */
+class ConcurrencyRetryExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyRetryExecutor executor = new ConcurrencyRetryExecutor(meterRegistry, 3, 0, 0);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"40001", "40P01", "55P03"})
+    void contentionSqlStatesAreRetried(String sqlState) {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("Statement failed", new SQLException("conflict", sqlState));
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(calls).hasValue(2);
+        assertThat(retries()).isEqualTo(1);
+        assertThat(giveUps()).isZero();
+    }
+
+    @Test
+    void optimisticLockConflictsAreRetried() {
+        assertThat(ConcurrencyRetryExecutor.isRetryable(new ObjectOptimisticLockingFailureException("Product", 1L))).isTrue();
+        assertThat(ConcurrencyRetryExecutor.isRetryable(new CannotAcquireLockException("Lock timeout"))).isTrue();
+        assertThat(ConcurrencyRetryExecutor.isRetryable(
+                new IllegalStateException(new OptimisticLockException("Row was updated")))).isTrue();
+    }
+
+    @Test
+    void otherFailuresAreThrownWithoutRetry() {
+        AtomicInteger calls = new AtomicInteger();
+        DataIntegrityViolationException failure = new DataIntegrityViolationException("Duplicate key",
+                new SQLException("duplicate key value", "23505"));
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            calls.incrementAndGet();
+            throw failure;
+        })).isSameAs(failure);
+
+        assertThat(calls).hasValue(1);
+        assertThat(retries()).isZero();
+        assertThat(giveUps()).isZero();
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndThrowsTheLastConflict() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new CannotAcquireLockException("Deadlock " + calls.incrementAndGet());
+        })).isInstanceOf(CannotAcquireLockException.class).hasMessage("Deadlock 3");
+
+        assertThat(calls).hasValue(3);
+        assertThat(retries()).isEqualTo(2);
+        assertThat(giveUps()).isEqualTo(1);
+    }
+
+    private double retries() {
+        return meterRegistry.get("orders.concurrency.retries").counter().count();
+    }
+
+    private double giveUps() {
+        return meterRegistry.get("orders.concurrency.give-ups").counter().count();
+    }
+}
@@ -0,0 +1,208 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.OrderBatchResult;
+import com.nttdata.pedidos.application.order.port.in.OrderItemCommand;
+import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import com.nttdata.pedidos.domain.exception.OrderCommitTimeoutException;
+import com.nttdata.pedidos.domain.order.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que el group-commit agrupa las peticiones concurrentes, aísla los rechazos
+ * de cada llamador y que un error por tiempo de espera implica que la orden no se creó.
+ */
+class GroupCommitOrderServiceTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final ExecutorService callers = Executors.newFixedThreadPool(5);
+    private GroupCommitOrderService service;
+
+    @AfterEach
+    void stopPipeline() {
+        callers.shutdownNow();
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void concurrentOrdersAreCommittedAsOneBatch() throws Exception {
+        start(5, 2000, 5000);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        List<CompletableFuture<Order>> orders = new ArrayList<>();
+        for (long userId = 1; userId <= 5; userId++) {
+            orders.add(submit(command(userId)));
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            assertThat(orders.get(i).get(5, TimeUnit.SECONDS).getUserId()).isEqualTo(i + 1L);
+        }
+        ArgumentCaptor<List<CreateOrderCommand>> batch = ArgumentCaptor.captor();
+        verify(orderService, times(1)).createOrders(batch.capture());
+        assertThat(batch.getValue()).hasSize(5);
+    }
+
+    @Test
+    void rejectedOrderOnlyFailsItsOwnCaller() throws Exception {
+        start(2, 2000, 5000);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            List<CreateOrderCommand> commands = invocation.getArgument(0);
+            return commands.stream()
+                    .map(command -> command.userId() == 2L
+                            ? OrderBatchResult.failure(new InsufficientStockException("Teclado", 0, 1))
+                            : OrderBatchResult.success(order(command)))
+                    .toList();
+        });
+
+        CompletableFuture<Order> accepted = submit(command(1L));
+        CompletableFuture<Order> rejected = submit(command(2L));
+
+        assertThat(accepted.get(5, TimeUnit.SECONDS).getUserId()).isEqualTo(1L);
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    void failedBatchFailsEveryCaller() {
+        start(1, 0, 5000);
+        when(orderService.createOrders(anyList())).thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThatThrownBy(() -> service.createOrder(command(1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Database unavailable");
+    }
+
+    @Test
+    void queuedOrderThatTimesOutIsWithdrawnAndNeverCreated() throws Exception {
+        start(1, 0, 200);
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+
+        CompletableFuture<Order> inFlight = submit(command(1L));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> service.createOrder(command(2L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("the order was not created");
+
+        releaseFirstBatch.countDown();
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).getUserId()).isEqualTo(1L);
+
+        ArgumentCaptor<List<CreateOrderCommand>> batches = ArgumentCaptor.captor();
+        verify(orderService, after(300).times(1)).createOrders(batches.capture());
+        assertThat(batches.getValue()).extracting(CreateOrderCommand::userId).containsExactly(1L);
+    }
+
+    @Test
+    void orderAlreadyInABatchIsAwaitedPastTheTimeout() {
+        start(1, 0, 100);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(400);
+            return created(invocation.getArgument(0));
+        });
+
+        assertThat(service.createOrder(command(1L)).getUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void batchThatOutlivesTheCommitWaitReportsAnUnknownOutcome() {
+        start(1, 0, 100, 200);
+        CountDownLatch releaseBatch = new CountDownLatch(1);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            releaseBatch.await(5, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> service.createOrder(command(1L)))
+                .isInstanceOf(OrderCommitTimeoutException.class);
+        releaseBatch.countDown();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+    }
+
+    @Test
+    void timeWaitingForQueueSpaceCountsAgainstTheTimeout() throws Exception {
+        service = new GroupCommitOrderService(orderService, 1, 1, 0, 400, 5000);
+        service.start();
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        CountDownLatch releaseLaterBatches = new CountDownLatch(1);
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            if (firstBatchStarted.getCount() > 0) {
+                firstBatchStarted.countDown();
+                releaseFirstBatch.await(5, TimeUnit.SECONDS);
+            } else {
+                releaseLaterBatches.await(5, TimeUnit.SECONDS);
+            }
+            return created(invocation.getArgument(0));
+        });
+
+        submit(command(1L));
+        assertThat(firstBatchStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        submit(command(2L));
+
+        // La tercera orden espera hueco en la cola, que se libera a mitad de su plazo
+        long started = System.nanoTime();
+        CompletableFuture<Order> third = submit(command(3L));
+        Thread.sleep(250);
+        releaseFirstBatch.countDown();
+
+        assertThatThrownBy(() -> third.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("the order was not created");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(650);
+        releaseLaterBatches.countDown();
+    }
+
+    private void start(int maxBatchSize, long maxWaitMs, long timeoutMs) {
+        start(maxBatchSize, maxWaitMs, timeoutMs, 5000);
+    }
+
+    private void start(int maxBatchSize, long maxWaitMs, long timeoutMs, long commitWaitMs) {
+        service = new GroupCommitOrderService(orderService, 100, maxBatchSize, maxWaitMs, timeoutMs, commitWaitMs);
+        service.start();
+    }
+
+    private CompletableFuture<Order> submit(CreateOrderCommand command) {
+        return CompletableFuture.supplyAsync(() -> service.createOrder(command), callers);
+    }
+
+    private static CreateOrderCommand command(Long userId) {
+        return new CreateOrderCommand(userId, List.of(new OrderItemCommand(10L, 1)));
+    }
+
+    private static List<OrderBatchResult> created(List<CreateOrderCommand> commands) {
+        return commands.stream().map(command -> OrderBatchResult.success(order(command))).toList();
+    }
+
+    private static Order order(CreateOrderCommand command) {
+        return Order.builder().id(command.userId() * 100).userId(command.userId()).build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.CreateOrderUseCase;
+import com.nttdata.pedidos.application.order.port.in.IdempotentOrderResult;
+import com.nttdata.pedidos.application.order.port.in.OrderItemCommand;
+import com.nttdata.pedidos.application.order.port.out.IdempotencyKeyPort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.domain.exception.IdempotencyKeyReusedException;
+import com.nttdata.pedidos.domain.order.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que un reintento con la misma clave devuelve la orden original sin crear otra
+ * y que reutilizar la clave con otra petición se rechaza.
+ */
+class IdempotentOrderServiceTest {
+
+    private static final String KEY = "checkout-42";
+
+    private final CreateOrderUseCase createOrderUseCase = mock(CreateOrderUseCase.class);
+    private final OrderPersistencePort orderPersistencePort = mock(OrderPersistencePort.class);
+    private final IdempotencyKeyPort idempotencyKeyPort = mock(IdempotencyKeyPort.class);
+
+    private final IdempotentOrderService service = new IdempotentOrderService(createOrderUseCase,
+            orderPersistencePort, idempotencyKeyPort,
+            new ConcurrencyRetryExecutor(new SimpleMeterRegistry(), 3, 0, 0),
+            mock(PlatformTransactionManager.class), 60, 100, 100);
+
+    @Test
+    void newKeyCreatesTheOrderThroughTheCreateUseCase() {
+        CreateOrderCommand command = command(10L, 2);
+        when(idempotencyKeyPort.reserve(eq(KEY), eq(1L), anyString(), any())).thenReturn(true);
+        when(createOrderUseCase.createOrder(command)).thenReturn(order(100L));
+
+        IdempotentOrderResult result = service.createOrder(KEY, command);
+
+        assertThat(result.order().getId()).isEqualTo(100L);
+        assertThat(result.replayed()).isFalse();
+        verify(idempotencyKeyPort).reserve(eq(KEY), eq(1L), eq(IdempotentOrderService.requestHash(command)), any());
+        verify(idempotencyKeyPort).complete(KEY, 1L, 100L);
+    }
+
+    @Test
+    void replayReturnsTheOriginalOrderWithoutCreatingAnother() {
+        CreateOrderCommand command = command(10L, 2);
+        when(idempotencyKeyPort.reserve(eq(KEY), eq(1L), anyString(), any())).thenReturn(true);
+        when(createOrderUseCase.createOrder(command)).thenReturn(order(100L));
+        service.createOrder(KEY, command);
+
+        IdempotentOrderResult replay = service.createOrder(KEY, command(10L, 2));
+
+        assertThat(replay.order().getId()).isEqualTo(100L);
+        assertThat(replay.replayed()).isTrue();
+        verify(createOrderUseCase, times(1)).createOrder(any());
+    }
+
+    @Test
+    void replayFromTheStoreWithADifferentRequestIsRejected() {
+        CreateOrderCommand original = command(10L, 2);
+        when(idempotencyKeyPort.findCompleted(KEY, 1L)).thenReturn(Optional.of(
+                new IdempotencyKeyPort.CompletedKey(100L, IdempotentOrderService.requestHash(original))));
+
+        assertThatThrownBy(() -> service.createOrder(KEY, command(10L, 3)))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        verify(createOrderUseCase, never()).createOrder(any());
+        verify(idempotencyKeyPort, never()).reserve(anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void cachedReplayWithADifferentRequestIsRejected() {
+        when(idempotencyKeyPort.reserve(eq(KEY), eq(1L), anyString(), any())).thenReturn(true);
+        when(createOrderUseCase.createOrder(any())).thenReturn(order(100L));
+        service.createOrder(KEY, command(10L, 2));
+
+        assertThatThrownBy(() -> service.createOrder(KEY, command(11L, 2)))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        verify(createOrderUseCase, times(1)).createOrder(any());
+    }
+
+    @Test
+    void keyStoredWithoutHashIsReplayed() {
+        when(idempotencyKeyPort.findCompleted(KEY, 1L))
+                .thenReturn(Optional.of(new IdempotencyKeyPort.CompletedKey(100L, null)));
+        when(orderPersistencePort.findById(100L)).thenReturn(Optional.of(order(100L)));
+
+        IdempotentOrderResult replay = service.createOrder(KEY, command(10L, 5));
+
+        assertThat(replay.order().getId()).isEqualTo(100L);
+        assertThat(replay.replayed()).isTrue();
+    }
+
+    @Test
+    void hashIgnoresLineOrderAndSplitQuantities() {
+        CreateOrderCommand split = new CreateOrderCommand(1L, List.of(
+                new OrderItemCommand(11L, 1), new OrderItemCommand(10L, 1), new OrderItemCommand(10L, 1)));
+        CreateOrderCommand merged = new CreateOrderCommand(1L, List.of(
+                new OrderItemCommand(10L, 2), new OrderItemCommand(11L, 1)));
+
+        assertThat(IdempotentOrderService.requestHash(split)).isEqualTo(IdempotentOrderService.requestHash(merged));
+    }
+
+    private static CreateOrderCommand command(Long productId, int quantity) {
+        return new CreateOrderCommand(1L, List.of(new OrderItemCommand(productId, quantity)));
+    }
+
+    private static Order order(Long id) {
+        return Order.builder().id(id).userId(1L).build();
+    }
+}
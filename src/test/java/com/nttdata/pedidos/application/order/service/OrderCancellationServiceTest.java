@@ -0,0 +1,187 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.OrderIntakeQueuePersistenceAdapter;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.ProductPersistenceAdapter;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.mapper.ProductEntityMapper;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderIntakeRepository;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataProductRepository;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.StockReservationPort;
+import com.nttdata.pedidos.domain.exception.ReservationExpiredException;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que la cancelación devuelve exactamente el stock descontado: las ordenes
+ * confirmadas y las reservadas lo reponen, las que siguen en la cola no.
+ * Productos y cola son reales; las ordenes y las reservas se simulan porque sus
+ * tablas solo existen en PostgreSQL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductPersistenceAdapter.class, ProductEntityMapper.class, OrderIntakeQueuePersistenceAdapter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderCancellationServiceTest {
+
+    private static final int STOCK = 10;
+    private static final Long CONFIRMED_ID = 501L;
+    private static final Long RESERVED_ID = 502L;
+    private static final Long QUEUED_ID = 503L;
+
+    @Autowired
+    private ProductPersistenceAdapter productPersistenceAdapter;
+
+    @Autowired
+    private OrderIntakeQueuePersistenceAdapter orderIntakeQueueAdapter;
+
+    @Autowired
+    private SpringDataProductRepository productRepository;
+
+    @Autowired
+    private SpringDataOrderIntakeRepository intakeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OrderPersistencePort orderPersistencePort = mock(OrderPersistencePort.class);
+    private final StockReservationPort stockReservationPort = mock(StockReservationPort.class);
+    private final Map<Long, OrderStatus> statuses = new LinkedHashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+    private OrderCancellationService service;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductEntity product = new ProductEntity();
+        product.setName("Cancelled product");
+        product.setDescription("Cancelled product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(STOCK);
+        productId = transactionTemplate.execute(status -> productRepository.save(product).getId());
+
+        service = new OrderCancellationService(orderPersistencePort, productPersistenceAdapter,
+                stockReservationPort, orderIntakeQueueAdapter,
+                new ConcurrencyRetryExecutor(new SimpleMeterRegistry(), 3, 0, 0), transactionManager, true, 500);
+
+        when(orderPersistencePort.findStatuses(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            Map<Long, OrderStatus> found = new LinkedHashMap<>();
+            ids.stream().filter(statuses::containsKey).forEach(id -> found.put(id, statuses.get(id)));
+            return found;
+        });
+        when(orderPersistencePort.transitionStatus(anyCollection(), any(), any()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        // Cada orden lleva 2 unidades del mismo producto
+        when(orderPersistencePort.sumQuantitiesByProduct(anyCollection())).thenAnswer(invocation ->
+                Map.of(productId, 2 * ((Collection<?>) invocation.getArgument(0)).size()));
+        when(stockReservationPort.removeAll(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.copyOf(ids);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            intakeRepository.deleteAll();
+            productRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void confirmedAndReservedOrdersGetTheirStockBack() {
+        givenReservedOrder(CONFIRMED_ID, OrderStatus.CONFIRMED);
+        givenReservedOrder(RESERVED_ID, OrderStatus.PENDING);
+
+        int cancelled = service.cancelOrders(List.of(CONFIRMED_ID, RESERVED_ID));
+
+        assertThat(cancelled).isEqualTo(2);
+        assertThat(stock()).isEqualTo(STOCK);
+        verify(orderPersistencePort).transitionStatus(List.of(RESERVED_ID), OrderStatus.PENDING, OrderStatus.CANCELLED);
+        verify(orderPersistencePort).transitionStatus(List.of(CONFIRMED_ID), OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void queuedOrderIsCancelledWithoutRestock() {
+        statuses.put(QUEUED_ID, OrderStatus.PENDING);
+        transactionTemplate.executeWithoutResult(status -> orderIntakeQueueAdapter.enqueue(QUEUED_ID));
+
+        int cancelled = service.cancelOrders(List.of(QUEUED_ID));
+
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(stock()).isEqualTo(STOCK);
+        assertThat(intakeRepository.existsById(QUEUED_ID)).isFalse();
+        verify(orderPersistencePort, never()).sumQuantitiesByProduct(anyCollection());
+    }
+
+    @Test
+    void pendingOrderWithAnExpiredHoldIsNotRestockedTwice() {
+        givenReservedOrder(RESERVED_ID, OrderStatus.PENDING);
+        when(orderPersistencePort.findById(RESERVED_ID)).thenReturn(Optional.of(
+                Order.builder().id(RESERVED_ID).userId(1L).status(OrderStatus.PENDING).build()));
+        when(stockReservationPort.removeAll(anyCollection())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.cancelOrder(RESERVED_ID, 1L))
+                .isInstanceOf(ReservationExpiredException.class);
+
+        // El barrido de caducadas es quien repone este stock
+        assertThat(stock()).isEqualTo(STOCK - 2);
+    }
+
+    @Test
+    void statusChangeDuringCancellationRetriesAndRestocksOnce() {
+        givenReservedOrder(CONFIRMED_ID, OrderStatus.CONFIRMED);
+        when(orderPersistencePort.transitionStatus(List.of(CONFIRMED_ID), OrderStatus.CONFIRMED, OrderStatus.CANCELLED))
+                .thenReturn(0, 1);
+
+        int cancelled = service.cancelOrders(List.of(CONFIRMED_ID));
+
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(stock()).isEqualTo(STOCK);
+        verify(orderPersistencePort, times(2))
+                .transitionStatus(List.of(CONFIRMED_ID), OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+    }
+
+    private void givenReservedOrder(Long orderId, OrderStatus status) {
+        statuses.put(orderId, status);
+        transactionTemplate.executeWithoutResult(tx -> productPersistenceAdapter.reserveStock(Map.of(productId, 2)));
+    }
+
+    private int stock() {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,181 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.application.order.port.in.CreateOrderCommand;
+import com.nttdata.pedidos.application.order.port.in.OrderItemCommand;
+import com.nttdata.pedidos.application.order.port.out.OrderEventOutboxPort;
+import com.nttdata.pedidos.application.order.port.out.OrderIntakeQueuePort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.ProductPersistencePort;
+import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderCreatedEvent;
+import com.nttdata.pedidos.domain.order.OrderItem;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que la admisión asíncrona reserva el stock, registra la reserva y solo
+ * emite OrderCreated cuando la orden tiene su stock.
+ */
+class OrderIntakeServiceTest {
+
+    private static final Long ORDER_ID = 7L;
+
+    private final OrderPreparationService orderPreparationService = mock(OrderPreparationService.class);
+    private final OrderPersistencePort orderPersistencePort = mock(OrderPersistencePort.class);
+    private final ProductPersistencePort productPersistencePort = mock(ProductPersistencePort.class);
+    private final StockReservationService stockReservationService = mock(StockReservationService.class);
+    private final OrderIntakeQueuePort orderIntakeQueuePort = mock(OrderIntakeQueuePort.class);
+    private final OrderEventOutboxPort orderEventOutboxPort = mock(OrderEventOutboxPort.class);
+
+    private final OrderIntakeService service = new OrderIntakeService(orderPreparationService, orderPersistencePort,
+            productPersistencePort, stockReservationService, orderIntakeQueuePort, orderEventOutboxPort,
+            new SyncTaskExecutor(), mock(PlatformTransactionManager.class), 30000, 100, 3);
+
+    @Test
+    void acceptedOrderIsNotPublishedBeforeItsStockIsChecked() {
+        CreateOrderCommand command = new CreateOrderCommand(1L, List.of(new OrderItemCommand(10L, 2)));
+        when(orderPreparationService.price(command)).thenReturn(pendingOrder());
+        when(orderPersistencePort.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(service.acceptOrder(command).getId()).isEqualTo(ORDER_ID);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(orderIntakeQueuePort).enqueue(ORDER_ID);
+        verifyNoInteractions(orderEventOutboxPort);
+    }
+
+    @Test
+    void orderWithStockIsConfirmedAndPublished() {
+        givenQueuedOrder();
+        when(orderPersistencePort.transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED))
+                .thenReturn(1);
+
+        service.processAcceptedOrder(ORDER_ID);
+
+        verify(orderPreparationService).reserveStock(any());
+        assertThat(publishedEvent().status()).isEqualTo(OrderStatus.CONFIRMED.name());
+        verify(productPersistencePort, never()).releaseStock(any());
+    }
+
+    @Test
+    void orderIsHeldLikeASynchronousOrderWhenReservationsAreEnabled() {
+        givenQueuedOrder();
+        when(stockReservationService.hold(anyList())).thenReturn(true);
+
+        service.processAcceptedOrder(ORDER_ID);
+
+        verify(stockReservationService).hold(anyList());
+        verify(orderPersistencePort, never()).transitionStatus(any(), any(), any());
+        assertThat(publishedEvent().status()).isEqualTo(OrderStatus.PENDING.name());
+    }
+
+    @Test
+    void orderWithoutStockIsRejectedAndNotPublished() {
+        givenQueuedOrder();
+        doThrow(new InsufficientStockException("Teclado", 1, 2)).when(orderPreparationService).reserveStock(any());
+
+        service.processAcceptedOrder(ORDER_ID);
+
+        verify(orderPersistencePort).transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.REJECTED);
+        verify(stockReservationService, never()).hold(anyList());
+        verifyNoInteractions(orderEventOutboxPort);
+    }
+
+    @Test
+    void stockIsReturnedWhenTheOrderChangedStatusMeanwhile() {
+        givenQueuedOrder();
+        when(orderPersistencePort.transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED))
+                .thenReturn(0);
+        when(orderPersistencePort.sumQuantitiesByProduct(List.of(ORDER_ID))).thenReturn(Map.of(10L, 2));
+
+        service.processAcceptedOrder(ORDER_ID);
+
+        verify(productPersistencePort).releaseStock(Map.of(10L, 2));
+        verifyNoInteractions(orderEventOutboxPort);
+    }
+
+    @Test
+    void orderAlreadyClaimedIsSkipped() {
+        when(orderIntakeQueuePort.claim(ORDER_ID)).thenReturn(false);
+
+        service.processAcceptedOrder(ORDER_ID);
+
+        verifyNoInteractions(orderPreparationService, stockReservationService, orderEventOutboxPort);
+    }
+
+    @Test
+    void staleOrderIsResubmittedAndTheAttemptCounted() {
+        when(orderIntakeQueuePort.findStale(any(), anyInt()))
+                .thenReturn(List.of(new OrderIntakeQueuePort.StaleOrder(ORDER_ID, 1)));
+        givenQueuedOrder();
+        when(orderPersistencePort.transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED))
+                .thenReturn(1);
+
+        service.recoverStaleOrders();
+
+        verify(orderPreparationService).reserveStock(any());
+        verify(orderIntakeQueuePort).recordAttempts(eq(List.of(ORDER_ID)), any());
+    }
+
+    @Test
+    void orderThatExhaustedItsAttemptsIsRejectedInsteadOfResubmitted() {
+        when(orderIntakeQueuePort.findStale(any(), anyInt()))
+                .thenReturn(List.of(new OrderIntakeQueuePort.StaleOrder(ORDER_ID, 3)));
+        when(orderIntakeQueuePort.claim(ORDER_ID)).thenReturn(true);
+
+        service.recoverStaleOrders();
+
+        verify(orderPersistencePort).transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.REJECTED);
+        verify(orderIntakeQueuePort, never()).recordAttempts(anyCollection(), any());
+        verifyNoInteractions(orderPreparationService, orderEventOutboxPort);
+    }
+
+    private void givenQueuedOrder() {
+        when(orderIntakeQueuePort.claim(ORDER_ID)).thenReturn(true);
+        when(orderPersistencePort.findById(ORDER_ID)).thenReturn(Optional.of(pendingOrder()));
+    }
+
+    private OrderCreatedEvent publishedEvent() {
+        ArgumentCaptor<List<OrderCreatedEvent>> events = ArgumentCaptor.captor();
+        verify(orderEventOutboxPort).appendCreated(events.capture());
+        assertThat(events.getValue()).hasSize(1);
+        return events.getValue().get(0);
+    }
+
+    private static Order pendingOrder() {
+        return Order.builder()
+                .id(ORDER_ID)
+                .userId(1L)
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal("20.00"))
+                .items(List.of(OrderItem.builder().productId(10L).quantity(2).unitPrice(BigDecimal.TEN).build()))
+                .build();
+    }
+}
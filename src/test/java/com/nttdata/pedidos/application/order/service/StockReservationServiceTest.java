@@ -0,0 +1,244 @@
+package com.nttdata.pedidos.application.order.service;
+
+import com.nttdata.pedidos.adapters.outbound.persistence.OrderIntakeQueuePersistenceAdapter;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.ProductPersistenceAdapter;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.entity.ProductEntity;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.mapper.ProductEntityMapper;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataOrderIntakeRepository;
+import com.nttdata.pedidos.adapters.outbound.persistence.jpa.repository.SpringDataProductRepository;
+import com.nttdata.pedidos.application.order.port.out.OrderEventOutboxPort;
+import com.nttdata.pedidos.application.order.port.out.OrderPersistencePort;
+import com.nttdata.pedidos.application.product.port.out.StockReservationPort;
+import com.nttdata.pedidos.domain.exception.InsufficientStockException;
+import com.nttdata.pedidos.domain.exception.ReservationExpiredException;
+import com.nttdata.pedidos.domain.order.Order;
+import com.nttdata.pedidos.domain.order.OrderItem;
+import com.nttdata.pedidos.domain.order.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica el stock de los productos al confirmar, liberar o dejar caducar una orden
+ * pendiente, tanto si ya reservó stock como si sigue en la cola de admisión.
+ * Productos y cola son reales; las ordenes y las reservas se simulan porque sus
+ * tablas solo existen en PostgreSQL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductPersistenceAdapter.class, ProductEntityMapper.class, OrderIntakeQueuePersistenceAdapter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationServiceTest {
+
+    private static final Long ORDER_ID = 500L;
+    private static final Long USER_ID = 1L;
+    private static final int STOCK = 10;
+    private static final int QUANTITY = 3;
+
+    @Autowired
+    private ProductPersistenceAdapter productPersistenceAdapter;
+
+    @Autowired
+    private OrderIntakeQueuePersistenceAdapter orderIntakeQueueAdapter;
+
+    @Autowired
+    private SpringDataProductRepository productRepository;
+
+    @Autowired
+    private SpringDataOrderIntakeRepository intakeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final OrderPersistencePort orderPersistencePort = mock(OrderPersistencePort.class);
+    private final StockReservationPort stockReservationPort = mock(StockReservationPort.class);
+
+    private TransactionTemplate transactionTemplate;
+    private StockReservationService reservationService;
+    private OrderIntakeService intakeService;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ProductEntity product = new ProductEntity();
+        product.setName("Reserved product");
+        product.setDescription("Reserved product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(STOCK);
+        productId = transactionTemplate.execute(status -> productRepository.save(product).getId());
+
+        OrderPreparationService preparationService = new OrderPreparationService(productPersistenceAdapter);
+        OrderCancellationService cancellationService = new OrderCancellationService(orderPersistencePort,
+                productPersistenceAdapter, stockReservationPort, orderIntakeQueueAdapter,
+                new ConcurrencyRetryExecutor(new SimpleMeterRegistry(), 1, 0, 0), transactionManager, true, 500);
+        reservationService = new StockReservationService(orderPersistencePort, productPersistenceAdapter,
+                stockReservationPort, orderIntakeQueueAdapter, preparationService, cancellationService,
+                transactionManager, true, 900, 500);
+        intakeService = new OrderIntakeService(preparationService, orderPersistencePort, productPersistenceAdapter,
+                reservationService, orderIntakeQueueAdapter, mock(OrderEventOutboxPort.class),
+                new SyncTaskExecutor(), transactionManager, 30000, 100, 3);
+
+        when(orderPersistencePort.findById(ORDER_ID)).thenReturn(Optional.of(pendingOrder()));
+        when(orderPersistencePort.findStatuses(List.of(ORDER_ID))).thenReturn(Map.of(ORDER_ID, OrderStatus.PENDING));
+        when(orderPersistencePort.sumQuantitiesByProduct(List.of(ORDER_ID))).thenReturn(Map.of(productId, QUANTITY));
+        when(orderPersistencePort.transitionStatus(any(), any(), any())).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            intakeRepository.deleteAll();
+            productRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void releasingAQueuedOrderReturnsNoStockAndTheWorkerSkipsIt() {
+        transactionTemplate.executeWithoutResult(status -> orderIntakeQueueAdapter.enqueue(ORDER_ID));
+
+        Order released = reservationService.releaseOrder(ORDER_ID, USER_ID);
+
+        assertThat(released.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(stock()).isEqualTo(STOCK);
+        verify(orderPersistencePort).transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+        intakeService.processAcceptedOrder(ORDER_ID);
+
+        assertThat(stock()).isEqualTo(STOCK);
+        verify(orderPersistencePort, never()).transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void releasingAReservedOrderReturnsItsStock() {
+        reserveOrderStock();
+        when(stockReservationPort.removeAll(List.of(ORDER_ID))).thenReturn(List.of(ORDER_ID));
+
+        reservationService.releaseOrder(ORDER_ID, USER_ID);
+
+        assertThat(stock()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void confirmingAQueuedOrderReservesItsStock() {
+        transactionTemplate.executeWithoutResult(status -> orderIntakeQueueAdapter.enqueue(ORDER_ID));
+
+        Order confirmed = reservationService.confirmOrder(ORDER_ID, USER_ID);
+
+        assertThat(confirmed.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(stock()).isEqualTo(STOCK - QUANTITY);
+        assertThat(intakeRepository.existsById(ORDER_ID)).isFalse();
+        verify(stockReservationPort, never()).remove(anyLong(), any());
+    }
+
+    @Test
+    void confirmingAQueuedOrderWithoutStockLeavesItQueued() {
+        transactionTemplate.executeWithoutResult(status -> orderIntakeQueueAdapter.enqueue(ORDER_ID));
+        transactionTemplate.executeWithoutResult(status ->
+                productPersistenceAdapter.reserveStock(Map.of(productId, STOCK - 1)));
+
+        assertThatThrownBy(() -> reservationService.confirmOrder(ORDER_ID, USER_ID))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(stock()).isEqualTo(1);
+        assertThat(intakeRepository.existsById(ORDER_ID)).isTrue();
+        verify(orderPersistencePort, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    void confirmingAReservedOrderKeepsItsStock() {
+        reserveOrderStock();
+        when(stockReservationPort.remove(eq(ORDER_ID), any())).thenReturn(true);
+
+        Order confirmed = reservationService.confirmOrder(ORDER_ID, USER_ID);
+
+        assertThat(confirmed.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(stock()).isEqualTo(STOCK - QUANTITY);
+    }
+
+    @Test
+    void orderWhoseHoldExpiredBeforeTheSweepCannotBeConfirmed() {
+        reserveOrderStock();
+        when(stockReservationPort.remove(eq(ORDER_ID), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> reservationService.confirmOrder(ORDER_ID, USER_ID))
+                .isInstanceOf(ReservationExpiredException.class);
+
+        // El barrido de caducadas devolverá este stock
+        assertThat(stock()).isEqualTo(STOCK - QUANTITY);
+        verify(orderPersistencePort, never()).transitionStatus(any(), any(), any());
+    }
+
+    @Test
+    void expiredHoldsReturnTheirStock() {
+        reserveOrderStock();
+        when(stockReservationPort.removeExpired(any(), anyInt())).thenReturn(List.of(ORDER_ID));
+
+        reservationService.releaseExpiredHolds();
+
+        assertThat(stock()).isEqualTo(STOCK);
+        verify(orderPersistencePort).transitionStatus(List.of(ORDER_ID), OrderStatus.PENDING, OrderStatus.EXPIRED);
+    }
+
+    @Test
+    void sweepWithoutExpiredHoldsLeavesStockAlone() {
+        reserveOrderStock();
+        when(stockReservationPort.removeExpired(any(), anyInt())).thenReturn(List.of());
+
+        reservationService.releaseExpiredHolds();
+
+        assertThat(stock()).isEqualTo(STOCK - QUANTITY);
+        verify(orderPersistencePort, never()).transitionStatus(any(), any(), any());
+    }
+
+    private void reserveOrderStock() {
+        transactionTemplate.executeWithoutResult(status ->
+                productPersistenceAdapter.reserveStock(Map.of(productId, QUANTITY)));
+    }
+
+    private int stock() {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    private Order pendingOrder() {
+        return Order.builder()
+                .id(ORDER_ID)
+                .userId(USER_ID)
+                .status(OrderStatus.PENDING)
+                .items(List.of(OrderItem.builder()
+                        .productId(productId)
+                        .productName("Reserved product")
+                        .quantity(QUANTITY)
+                        .unitPrice(BigDecimal.TEN)
+                        .build()))
+                .build();
+    }
+}
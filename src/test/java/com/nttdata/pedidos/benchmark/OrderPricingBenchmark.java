@@ -0,0 +1,96 @@
+package com.nttdata.pedidos.benchmark;
+
+import com.nttdata.pedidos.domain.order.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el cálculo de subtotales y total de una orden con BigDecimal y streams
+ * (implementación anterior) frente a la aritmética en céntimos de {@link Money}.
+ *
+ * Ejecutar desde el IDE con {@link #main(String[])} o, tras {@code mvn test-compile}:
+ * {@code java -cp target/test-classes:target/classes:<classpath de test> org.openjdk.jmh.Main OrderPricingBenchmark -prof gc}.
+ * El perfilador GC muestra los bytes asignados por operación ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private BigDecimal[] unitPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        unitPrices = new BigDecimal[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            unitPrices[i] = BigDecimal.valueOf(random.nextLong(100, 100_000), 2);
+            quantities[i] = random.nextInt(1, 20);
+        }
+    }
+
+    /**
+     * Implementación anterior: subtotal con {@code multiply} por línea y total con un stream.
+     */
+    @Benchmark
+    public void bigDecimalStreams(Blackhole blackhole) {
+        List<BigDecimal> subtotals = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            subtotals.add(unitPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal total = subtotals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        blackhole.consume(subtotals);
+        blackhole.consume(total);
+    }
+
+    /**
+     * Implementación actual: céntimos en {@code long} y una conversión a BigDecimal por importe.
+     */
+    @Benchmark
+    public void longCents(Blackhole blackhole) {
+        List<BigDecimal> subtotals = new ArrayList<>(lines);
+        long totalCents = 0;
+        for (int i = 0; i < lines; i++) {
+            long subtotalCents = Money.multiply(Money.toCents(unitPrices[i]), quantities[i]);
+            totalCents += subtotalCents;
+            subtotals.add(Money.toDecimal(subtotalCents));
+        }
+        blackhole.consume(subtotals);
+        blackhole.consume(Money.toDecimal(totalCents));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderPricingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}